@@ -0,0 +1,155 @@
+package org.cs213.clinic.bench;
+
+import org.cs213.clinic.cli.registry.CommandRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.FileNotFoundException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the scheduling commands D, T, C and R through
+ * {@link CommandRegistry#executeCommand(String, String[])} against calendars
+ * of increasing size. Every benchmark leaves the calendar as it found it:
+ * bookings are cancelled again and reschedules are moved back.
+ *
+ * @author Elian Deogracia-Brito
+ * @author Tiara Clyde
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class CommandBenchmark {
+    /**
+     * The number of appointments in the calendar.
+     */
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int appointments;
+
+    /**
+     * The registry the commands are executed through.
+     */
+    private CommandRegistry registry;
+
+    /**
+     * Arguments that book an office appointment.
+     */
+    private String[] doctorArgs;
+
+    /**
+     * Arguments that book an imaging appointment.
+     */
+    private String[] technicianArgs;
+
+    /**
+     * Arguments that cancel the office appointment.
+     */
+    private String[] cancelDoctorArgs;
+
+    /**
+     * Arguments that cancel the imaging appointment.
+     */
+    private String[] cancelTechnicianArgs;
+
+    /**
+     * Arguments that move the rescheduled appointment forward.
+     */
+    private String[] rescheduleArgs;
+
+    /**
+     * Arguments that move the rescheduled appointment back.
+     */
+    private String[] rescheduleBackArgs;
+
+    /**
+     * Builds the workload and books the appointment that is rescheduled.
+     *
+     * @throws FileNotFoundException if the providers file can't be found
+     */
+    @Setup
+    public void setup() throws FileNotFoundException {
+        Workload workload = new Workload(appointments, 42);
+        registry = workload.getManager().getCommandRegistry();
+        String npi = workload.getDoctors()[0].getNpi();
+        String date = Workload.bookingDate(7);
+        String rescheduleDate = Workload.bookingDate(14);
+
+        doctorArgs = new String[] {date, "1", "Bench", "Doctor", "1/1/1990",
+            npi};
+        cancelDoctorArgs = new String[] {date, "1", "Bench", "Doctor",
+            "1/1/1990"};
+        technicianArgs = new String[] {date, "2", "Bench", "Imaging",
+            "1/1/1990", "XRAY"};
+        cancelTechnicianArgs = new String[] {date, "2", "Bench", "Imaging",
+            "1/1/1990"};
+        rescheduleArgs = new String[] {rescheduleDate, "3", "Bench",
+            "Reschedule", "1/1/1990", "4"};
+        rescheduleBackArgs = new String[] {rescheduleDate, "4", "Bench",
+            "Reschedule", "1/1/1990", "3"};
+
+        expectBooked(registry.executeCommand("D", new String[] {rescheduleDate,
+            "3", "Bench", "Reschedule", "1/1/1990", npi}));
+        expectBooked(registry.executeCommand("D", doctorArgs));
+        registry.executeCommand("C", cancelDoctorArgs);
+        expectBooked(registry.executeCommand("T", technicianArgs));
+        registry.executeCommand("C", cancelTechnicianArgs);
+    }
+
+    /**
+     * Checks that a scheduling command booked its appointment, so that the
+     * benchmarks never measure a rejected command by accident.
+     *
+     * @param outstr the output of the command
+     */
+    private static void expectBooked(String outstr) {
+        if (!outstr.contains("booked")) {
+            throw new IllegalStateException("Command was rejected: " + outstr);
+        }
+    }
+
+    /**
+     * Books an office appointment with D and cancels it with C.
+     *
+     * @param blackhole sink for the command output
+     */
+    @Benchmark
+    public void doctorScheduleAndCancel(Blackhole blackhole) {
+        blackhole.consume(registry.executeCommand("D", doctorArgs));
+        blackhole.consume(registry.executeCommand("C", cancelDoctorArgs));
+    }
+
+    /**
+     * Books an imaging appointment with T and cancels it with C.
+     *
+     * @param blackhole sink for the command output
+     */
+    @Benchmark
+    public void technicianScheduleAndCancel(Blackhole blackhole) {
+        blackhole.consume(registry.executeCommand("T", technicianArgs));
+        blackhole.consume(registry.executeCommand("C", cancelTechnicianArgs));
+    }
+
+    /**
+     * Moves an appointment to another timeslot with R and back again.
+     *
+     * @param blackhole sink for the command output
+     */
+    @Benchmark
+    public void rescheduleAndBack(Blackhole blackhole) {
+        blackhole.consume(registry.executeCommand("R", rescheduleArgs));
+        blackhole.consume(registry.executeCommand("R", rescheduleBackArgs));
+    }
+}
@@ -0,0 +1,145 @@
+package org.cs213.clinic.bench;
+
+import org.cs213.clinic.core.Appointment;
+import org.cs213.clinic.core.Database;
+import org.cs213.clinic.core.Patient;
+import org.cs213.clinic.core.Profile;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.FileNotFoundException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the Database lookups the commands rely on against calendars of
+ * increasing size. Lookups cycle through a fixed set of random probes so that
+ * every invocation looks up something different.
+ *
+ * @author Elian Deogracia-Brito
+ * @author Tiara Clyde
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class DatabaseBenchmark {
+    /**
+     * Number of probes cycled through; a power of two.
+     */
+    private static final int PROBES = 1024;
+
+    /**
+     * The number of appointments in the calendar.
+     */
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int appointments;
+
+    /**
+     * The database being looked up.
+     */
+    private Database database;
+
+    /**
+     * Existing appointments to look up.
+     */
+    private Appointment[] probes;
+
+    /**
+     * Patients without any appointment, which no lookup finds.
+     */
+    private Patient[] strangers;
+
+    /**
+     * The index of the next probe.
+     */
+    private int next;
+
+    /**
+     * Builds the workload and picks the probes.
+     *
+     * @throws FileNotFoundException if the providers file can't be found
+     */
+    @Setup
+    public void setup() throws FileNotFoundException {
+        Workload workload = new Workload(appointments, 42);
+        database = workload.getDatabase();
+        Appointment[] all = workload.getAppointments();
+        Random random = new Random(42);
+        probes = new Appointment[PROBES];
+        strangers = new Patient[PROBES];
+        for (int i = 0; i < PROBES; i++) {
+            probes[i] = all[random.nextInt(all.length)];
+            strangers[i] = new Patient("Stranger" + i, "Nobody", "1/1/1990");
+        }
+    }
+
+    /**
+     * Gets the next probe.
+     *
+     * @return an existing appointment
+     */
+    private Appointment probe() {
+        next = (next + 1) & (PROBES - 1);
+        return probes[next];
+    }
+
+    /**
+     * Looks up an appointment that exists.
+     *
+     * @return the appointment found
+     */
+    @Benchmark
+    public Appointment getAppointmentHit() {
+        Appointment probe = probe();
+        return database.getAppointment(probe.getDate(), probe.getTimeslot(),
+            probe.getPatient());
+    }
+
+    /**
+     * Looks up an appointment of a patient who has none.
+     *
+     * @return null
+     */
+    @Benchmark
+    public Appointment getAppointmentMiss() {
+        Appointment probe = probe();
+        return database.getAppointment(probe.getDate(), probe.getTimeslot(),
+            strangers[next]);
+    }
+
+    /**
+     * Checks if the provider of an appointment is free at its time.
+     *
+     * @return false
+     */
+    @Benchmark
+    public boolean providerAvailable() {
+        Appointment probe = probe();
+        return database.providerAvailable(probe.getProvider(),
+            probe.getDate(), probe.getTimeslot());
+    }
+
+    /**
+     * Looks up the patient of an appointment by their profile.
+     *
+     * @return the patient found
+     */
+    @Benchmark
+    public Patient getPatient() {
+        Profile profile = probe().getPatient().getProfile();
+        return database.getPatient(profile.getFname(), profile.getLname(),
+            profile.getDob().toString());
+    }
+}
@@ -0,0 +1,120 @@
+package org.cs213.clinic.bench;
+
+import org.cs213.clinic.cli.registry.CommandRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.FileNotFoundException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the Print* commands against calendars of increasing size. PS is
+ * left out since it moves every appointment into the billing statements and
+ * empties the calendar it would be measured against.
+ *
+ * @author Elian Deogracia-Brito
+ * @author Tiara Clyde
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class PrintBenchmark {
+    /**
+     * Arguments of the print commands, which take none.
+     */
+    private static final String[] NO_ARGS = {};
+
+    /**
+     * The number of appointments in the calendar.
+     */
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int appointments;
+
+    /**
+     * The registry the commands are executed through.
+     */
+    private CommandRegistry registry;
+
+    /**
+     * Builds the workload.
+     *
+     * @throws FileNotFoundException if the providers file can't be found
+     */
+    @Setup
+    public void setup() throws FileNotFoundException {
+        registry = new Workload(appointments, 42).getManager()
+            .getCommandRegistry();
+    }
+
+    /**
+     * Lists appointments by date, time and provider.
+     *
+     * @return the command output
+     */
+    @Benchmark
+    public String printAppointments() {
+        return registry.executeCommand("PA", NO_ARGS);
+    }
+
+    /**
+     * Lists appointments by patient, date and time.
+     *
+     * @return the command output
+     */
+    @Benchmark
+    public String printByPatient() {
+        return registry.executeCommand("PP", NO_ARGS);
+    }
+
+    /**
+     * Lists appointments by county, date and time.
+     *
+     * @return the command output
+     */
+    @Benchmark
+    public String printByLocation() {
+        return registry.executeCommand("PL", NO_ARGS);
+    }
+
+    /**
+     * Lists imaging appointments by county, date and time.
+     *
+     * @return the command output
+     */
+    @Benchmark
+    public String printImaging() {
+        return registry.executeCommand("PI", NO_ARGS);
+    }
+
+    /**
+     * Lists office appointments by county, date and time.
+     *
+     * @return the command output
+     */
+    @Benchmark
+    public String printOffice() {
+        return registry.executeCommand("PO", NO_ARGS);
+    }
+
+    /**
+     * Lists the credit amount of each provider.
+     *
+     * @return the command output
+     */
+    @Benchmark
+    public String printCredit() {
+        return registry.executeCommand("PC", NO_ARGS);
+    }
+}
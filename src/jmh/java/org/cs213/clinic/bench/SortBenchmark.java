@@ -0,0 +1,108 @@
+package org.cs213.clinic.bench;
+
+import org.cs213.clinic.core.Appointment;
+import org.cs213.clinic.core.AppointmentOrder;
+import org.cs213.clinic.util.Sort;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.FileNotFoundException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link Sort} on arrays of appointments in random order and in
+ * an order that is already sorted. Each invocation sorts a fresh copy, so the
+ * copy is part of every measurement.
+ *
+ * @author Elian Deogracia-Brito
+ * @author Tiara Clyde
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class SortBenchmark {
+    /**
+     * The number of appointments to sort.
+     */
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int appointments;
+
+    /**
+     * The appointments in random order.
+     */
+    private Appointment[] shuffled;
+
+    /**
+     * The appointments sorted by patient, date and time.
+     */
+    private Appointment[] sorted;
+
+    /**
+     * Builds the workload and orders its appointments.
+     *
+     * @throws FileNotFoundException if the providers file can't be found
+     */
+    @Setup(Level.Trial)
+    public void setup() throws FileNotFoundException {
+        shuffled = new Workload(appointments, 42).getAppointments().clone();
+        Random random = new Random(42);
+        for (int i = shuffled.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            Appointment swap = shuffled[i];
+            shuffled[i] = shuffled[j];
+            shuffled[j] = swap;
+        }
+        sorted = shuffled.clone();
+        Sort.mergeSort(sorted, AppointmentOrder.PATIENT_DATE_TIME);
+    }
+
+    /**
+     * Sorts appointments in random order.
+     *
+     * @return the sorted copy
+     */
+    @Benchmark
+    public Appointment[] mergeSortShuffled() {
+        Appointment[] array = shuffled.clone();
+        Sort.mergeSort(array, AppointmentOrder.PATIENT_DATE_TIME);
+        return array;
+    }
+
+    /**
+     * Sorts appointments that are already in order.
+     *
+     * @return the sorted copy
+     */
+    @Benchmark
+    public Appointment[] mergeSortSorted() {
+        Appointment[] array = sorted.clone();
+        Sort.mergeSort(array, AppointmentOrder.PATIENT_DATE_TIME);
+        return array;
+    }
+
+    /**
+     * Sorts appointments in random order across the fork-join pool.
+     *
+     * @return the sorted copy
+     */
+    @Benchmark
+    public Appointment[] parallelMergeSortShuffled() {
+        Appointment[] array = shuffled.clone();
+        Sort.parallelMergeSort(array, AppointmentOrder.PATIENT_DATE_TIME);
+        return array;
+    }
+}
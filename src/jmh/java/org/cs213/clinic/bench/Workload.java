@@ -0,0 +1,197 @@
+package org.cs213.clinic.bench;
+
+import org.cs213.clinic.core.Appointment;
+import org.cs213.clinic.core.ClinicManager;
+import org.cs213.clinic.core.Database;
+import org.cs213.clinic.core.Date;
+import org.cs213.clinic.core.Doctor;
+import org.cs213.clinic.core.Imaging;
+import org.cs213.clinic.core.Patient;
+import org.cs213.clinic.core.Provider;
+import org.cs213.clinic.core.Radiology;
+import org.cs213.clinic.core.Technician;
+import org.cs213.clinic.core.Timeslot;
+import org.cs213.clinic.core.TimeslotTable;
+import org.cs213.clinic.util.ListView;
+
+import java.io.FileNotFoundException;
+import java.time.LocalDate;
+import java.util.Random;
+
+/**
+ * Synthetic workload for the benchmarks. A workload is a ClinicManager with
+ * the providers of {@code input/providers.txt} and a calendar filled with a
+ * given number of appointments. Appointments are spread over every provider,
+ * timeslot and day starting a year from today, so every provider is booked at
+ * most once per timeslot and the booking window of the next six months is
+ * left free for the commands being measured.
+ *
+ * @author Elian Deogracia-Brito
+ * @author Tiara Clyde
+ */
+public final class Workload {
+    /**
+     * The file the providers are loaded from, relative to the project root.
+     */
+    public static final String PROVIDERS_TXT = "input/providers.txt";
+
+    /**
+     * Number of days from today to the first day of generated appointments.
+     */
+    private static final int FIRST_DAY_OFFSET = 366;
+
+    /**
+     * Number of appointments per patient on average.
+     */
+    private static final int APPOINTMENTS_PER_PATIENT = 4;
+
+    /**
+     * The date of birth given to every generated patient.
+     */
+    private static final String PATIENT_DOB = "1/1/1990";
+
+    /**
+     * The clinic the workload runs against.
+     */
+    private final ClinicManager manager;
+
+    /**
+     * The generated patients.
+     */
+    private final Patient[] patients;
+
+    /**
+     * The generated appointments in the order they were added.
+     */
+    private final Appointment[] appointments;
+
+    /**
+     * The doctors loaded from the providers file.
+     */
+    private final Doctor[] doctors;
+
+    /**
+     * Constructs a workload with the given number of appointments.
+     *
+     * @param size the number of appointments to generate
+     * @param seed the seed of the random choices
+     * @throws FileNotFoundException if the providers file can't be found
+     */
+    public Workload(int size, long seed) throws FileNotFoundException {
+        manager = new ClinicManager(true);
+        manager.loadProviders(PROVIDERS_TXT);
+        Database database = manager.getDatabase();
+
+        ListView<Provider> providers = database.getProviders();
+        int doctorCount = 0;
+        for (Provider provider : providers) {
+            if (provider instanceof Doctor) doctorCount++;
+        }
+        doctors = new Doctor[doctorCount];
+        int index = 0;
+        for (Provider provider : providers) {
+            if (provider instanceof Doctor doctor) doctors[index++] = doctor;
+        }
+
+        Random random = new Random(seed);
+        patients = new Patient[Math.max(1, size / APPOINTMENTS_PER_PATIENT)];
+        for (int i = 0; i < patients.length; i++) {
+            patients[i] = new Patient("First" + i, "Last" + i, PATIENT_DOB);
+            database.addPatient(patients[i]);
+        }
+
+        TimeslotTable timeslots = database.getTimeslots();
+        Radiology[] rooms = Radiology.values();
+        appointments = new Appointment[size];
+        LocalDate day = LocalDate.now().plusDays(FIRST_DAY_OFFSET);
+        int generated = 0;
+        while (generated < size) {
+            Date date = toDate(day);
+            for (Timeslot timeslot : timeslots) {
+                for (int i = 0; i < providers.size() && generated < size; i++) {
+                    Provider provider = providers.get(i);
+                    Patient patient = patients[random.nextInt(patients.length)];
+                    Appointment appointment = provider instanceof Technician
+                        ? new Imaging(date, timeslot, patient, provider,
+                            rooms[random.nextInt(rooms.length)])
+                        : new Appointment(date, timeslot, patient, provider);
+                    database.addAppointment(appointment);
+                    appointments[generated++] = appointment;
+                }
+            }
+            day = day.plusDays(1);
+        }
+    }
+
+    /**
+     * Converts a LocalDate into a Date.
+     *
+     * @param day the day to convert
+     * @return the matching Date
+     */
+    private static Date toDate(LocalDate day) {
+        return new Date(day.getYear(), day.getMonthValue(),
+            day.getDayOfMonth());
+    }
+
+    /**
+     * Gets the first weekday at least the given number of days from today, in
+     * the "MM/DD/YYYY" form commands take. Days within the next six months
+     * are inside the booking window and hold no generated appointments.
+     *
+     * @param days the number of days from today
+     * @return the date string of the weekday
+     */
+    public static String bookingDate(int days) {
+        LocalDate day = LocalDate.now().plusDays(days);
+        while (toDate(day).isWeekend()) {
+            day = day.plusDays(1);
+        }
+        return toDate(day).toString();
+    }
+
+    /**
+     * Gets the clinic the workload runs against.
+     *
+     * @return the clinic manager
+     */
+    public ClinicManager getManager() {
+        return manager;
+    }
+
+    /**
+     * Gets the database of the clinic.
+     *
+     * @return the database
+     */
+    public Database getDatabase() {
+        return manager.getDatabase();
+    }
+
+    /**
+     * Gets the generated patients.
+     *
+     * @return the patients
+     */
+    public Patient[] getPatients() {
+        return patients;
+    }
+
+    /**
+     * Gets the generated appointments in the order they were added.
+     *
+     * @return the appointments
+     */
+    public Appointment[] getAppointments() {
+        return appointments;
+    }
+
+    /**
+     * Gets the doctors loaded from the providers file.
+     *
+     * @return the doctors
+     */
+    public Doctor[] getDoctors() {
+        return doctors;
+    }
+}
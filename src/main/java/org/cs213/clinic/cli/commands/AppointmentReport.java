@@ -0,0 +1,190 @@
+package org.cs213.clinic.cli.commands;
+
+import org.cs213.clinic.core.Appointment;
+import org.cs213.clinic.core.Database;
+import org.cs213.clinic.util.CustomPredicate;
+
+import java.io.Serial;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * The AppointmentReport class formats the rows of the appointment lists
+ * printed by the Print commands, one appointment per line as
+ * {@link Appointment#toString()} renders it. Rows are appended straight into
+ * the report through {@link Appointment#appendTo(StringBuilder)}, reusing
+ * the renderings the dates, timeslots, patients and providers keep, so no
+ * string is built per row. Large reports are split into chunks of
+ * consecutive rows that are formatted in parallel on the common fork-join
+ * pool and then joined in order.
+ *
+ * <p>The rows are collected while the database is locked for reading and
+ * formatted after the lock is released, so writers only wait for the copy.
+ * A booked appointment never changes, which makes formatting it without the
+ * lock safe.</p>
+ *
+ * @author Elian Deogracia-Brito
+ * @author Tiara Clyde
+ */
+final class AppointmentReport {
+    /**
+     * Number of rows from which a report is formatted in parallel.
+     */
+    private static final int PARALLEL_THRESHOLD = 1 << 13;
+
+    /**
+     * Number of rows formatted by each parallel task.
+     */
+    private static final int CHUNK_ROWS = 1 << 11;
+
+    /**
+     * Estimated number of characters in a row, to size the buffers.
+     */
+    private static final int ROW_CHARS = 112;
+
+    /**
+     * The rows of the report.
+     */
+    private Appointment[] rows = new Appointment[0];
+
+    /**
+     * The number of rows of the report.
+     */
+    private int size;
+
+    /**
+     * Collects the appointments, in order, as the rows of the report. Must be
+     * called while the database is locked for reading.
+     *
+     * @param database     the database of the appointments
+     * @param appointments the appointments in the order to print them
+     */
+    void collect(Database database, Iterable<Appointment> appointments) {
+        collect(database, appointments, null);
+    }
+
+    /**
+     * Collects the appointments that pass a filter, in order, as the rows of
+     * the report. Must be called while the database is locked for reading.
+     *
+     * @param database     the database of the appointments
+     * @param appointments the appointments in the order to print them
+     * @param filter       the appointments to print, or null for all
+     */
+    void collect(Database database, Iterable<Appointment> appointments,
+                 CustomPredicate<Appointment> filter) {
+        if (rows.length < database.getAppointmentCount()) {
+            rows = new Appointment[database.getAppointmentCount()];
+        }
+        size = 0;
+        for (Appointment appointment : appointments) {
+            if (filter != null && !filter.test(appointment)) { continue; }
+            if (size == rows.length) {
+                Appointment[] larger = new Appointment[size * 2 + 1];
+                System.arraycopy(rows, 0, larger, 0, size);
+                rows = larger;
+            }
+            rows[size++] = appointment;
+        }
+    }
+
+    /**
+     * Formats the collected rows, in order, one per line. Needs no lock.
+     *
+     * @return the formatted rows
+     */
+    String format() {
+        if (size < PARALLEL_THRESHOLD) {
+            StringBuilder builder = new StringBuilder(size * ROW_CHARS);
+            appendRows(builder, 0, size);
+            return builder.toString();
+        }
+
+        final int chunkCount = (size + CHUNK_ROWS - 1) / CHUNK_ROWS;
+        String[] chunks = new String[chunkCount];
+        ForkJoinPool.commonPool().invoke(
+                new FormatChunks(chunks, 0, chunkCount));
+        int length = 0;
+        for (String chunk : chunks) {
+            length += chunk.length();
+        }
+        StringBuilder builder = new StringBuilder(length);
+        for (String chunk : chunks) {
+            builder.append(chunk);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Formats a range of rows.
+     *
+     * @param builder the builder to append the rows to
+     * @param from    the index of the first row
+     * @param to      the index after the last row
+     */
+    private void appendRows(StringBuilder builder, int from, int to) {
+        for (int index = from; index < to; index++) {
+            rows[index].appendTo(builder);
+            builder.append('\n');
+        }
+    }
+
+    /**
+     * Formats a range of chunks of rows, splitting the range in half until
+     * each task formats one chunk.
+     */
+    private final class FormatChunks extends RecursiveAction {
+        /**
+         * Version of the serialized form of the task.
+         */
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * The formatted chunks, indexed by chunk.
+         */
+        private final String[] chunks;
+
+        /**
+         * The index of the first chunk of the range.
+         */
+        private final int from;
+
+        /**
+         * The index after the last chunk of the range.
+         */
+        private final int to;
+
+        /**
+         * Constructs the task of a range of chunks.
+         *
+         * @param chunks the formatted chunks
+         * @param from   the index of the first chunk of the range
+         * @param to     the index after the last chunk of the range
+         */
+        private FormatChunks(String[] chunks, int from, int to) {
+            this.chunks = chunks;
+            this.from = from;
+            this.to = to;
+        }
+
+        /**
+         * Formats the chunks of the range.
+         */
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new FormatChunks(chunks, from, middle),
+                        new FormatChunks(chunks, middle, to));
+                return;
+            }
+            int first = from * CHUNK_ROWS;
+            int last = Math.min(first + CHUNK_ROWS, size);
+            StringBuilder builder = new StringBuilder(
+                    (last - first) * ROW_CHARS);
+            appendRows(builder, first, last);
+            chunks[from] = builder.toString();
+        }
+    }
+}
@@ -95,6 +95,18 @@ public class CancelCommand implements Command {
      */
     @Override
     public String execute(String[] args) {
+        return database.write(() -> cancel(args));
+    }
+
+    /**
+     * Cancels the appointment while the database is locked for writing.
+     *
+     * @param args the date, timeslot, patient's first name, last name,
+     *             and date of birth
+     * @return a message indicating the success or failure of the canceling
+     *         process
+     */
+    private String cancel(String[] args) {
         String validationError = validateInput(args);
         if (!validationError.isEmpty()) {
             return validationError;
@@ -1,5 +1,8 @@
 package org.cs213.clinic.cli.commands;
 
+import java.io.IOException;
+import java.io.Writer;
+
 /**
  * The Command interface defines the contract for all commands that the CLI
  * ClinicManager supports. Each command must implement this interface and
@@ -40,4 +43,18 @@ public interface Command {
     default String execute(String[] args) {
         return UNIMPLEMENTED_OUTSTR;
     }
+
+    /**
+     * Executes the command and writes its output to the writer instead of
+     * returning it. This default implementation writes the result of
+     * {@link #execute(String[])}; commands with large outputs override it to
+     * stream their output without building one large string.
+     *
+     * @param args the arguments to the command (excluding the command name)
+     * @param out  the writer to write the output to
+     * @throws IOException if writing fails
+     */
+    default void execute(String[] args, Writer out) throws IOException {
+        out.write(execute(args));
+    }
 }
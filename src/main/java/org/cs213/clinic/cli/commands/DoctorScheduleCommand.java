@@ -74,6 +74,11 @@ public class DoctorScheduleCommand implements Command {
      */
     private final InputValidation inputValidation;
 
+    /**
+     * The checks of the arguments, in the order they run.
+     */
+    private final Validator[] validators;
+
     /**
      * Constructs a DoctorScheduleCommand with a connection to the provided
      * database.
@@ -83,6 +88,21 @@ public class DoctorScheduleCommand implements Command {
     public DoctorScheduleCommand(Database database) {
         this.database = database;
         this.inputValidation = new InputValidation(database);
+        this.validators = new Validator[] {
+                args -> inputValidation.forTokenCount(args,
+                        ARGUMENT_COUNT,USAGE_OUTSTR),
+                args -> inputValidation.forScheduledDate(args[DATE_INDEX]),
+                args -> inputValidation.forTimeslot(args[TIMESLOT_INDEX]),
+                args -> inputValidation.forPatientInfo(args[PT_FNAME_INDEX],
+                        args[PT_LNAME_INDEX], args[PT_DOB_INDEX]),
+                args -> inputValidation.forPatientAvailability(
+                        args[PT_FNAME_INDEX], args[PT_LNAME_INDEX],
+                        args[PT_DOB_INDEX], args[DATE_INDEX],
+                        args[TIMESLOT_INDEX]),
+                args -> inputValidation.forDoctorNPI(args[NPI_INDEX]),
+                args -> inputValidation.forDoctorAvailability(args[NPI_INDEX],
+                        args[DATE_INDEX], args[TIMESLOT_INDEX])
+        };
     }
 
     /**
@@ -95,6 +115,17 @@ public class DoctorScheduleCommand implements Command {
      */
     @Override
     public String execute(String[] args) {
+        return database.write(() -> schedule(args));
+    }
+
+    /**
+     * Schedules the office appointment while the database is locked for
+     * writing, so the checks and the booking happen as one step.
+     *
+     * @param args arguments to execute the command with
+     * @return a status string of successful or unsuccessful execution
+     */
+    private String schedule(String[] args) {
         String err = validateInput(args);
         if (!err.isEmpty()) { return err; }
 
@@ -119,27 +150,6 @@ public class DoctorScheduleCommand implements Command {
      * @return if the output is invalid it will return error
      */
     private String validateInput(String[] args) {
-        Procedure[] procedures = {
-                () -> inputValidation.forTokenCount(args,
-                        ARGUMENT_COUNT,USAGE_OUTSTR),
-                () -> inputValidation.forScheduledDate(args[DATE_INDEX]),
-                () -> inputValidation.forTimeslot(args[TIMESLOT_INDEX]),
-                () -> inputValidation.forPatientInfo(args[PT_FNAME_INDEX],
-                        args[PT_LNAME_INDEX], args[PT_DOB_INDEX]),
-                () -> inputValidation.forPatientAvailability(
-                        args[PT_FNAME_INDEX], args[PT_LNAME_INDEX],
-                        args[PT_DOB_INDEX], args[DATE_INDEX],
-                        args[TIMESLOT_INDEX]),
-                () -> inputValidation.forDoctorNPI(args[NPI_INDEX]),
-                () -> inputValidation.forDoctorAvailability(args[NPI_INDEX],
-                        args[DATE_INDEX], args[TIMESLOT_INDEX])
-        };
-
-        for (Procedure procedure : procedures) {
-            String error = procedure.run();
-            if (!error.isEmpty()) { return error; }
-        }
-
-        return EMPTY_OUTSTR;
+        return Validator.validateAll(validators, args);
     }
 }
@@ -10,7 +10,7 @@ import org.cs213.clinic.core.Radiology;
 import org.cs213.clinic.core.Technician;
 import org.cs213.clinic.core.Timeslot;
 import org.cs213.clinic.util.Format;
-import org.cs213.clinic.util.List;
+import org.cs213.clinic.util.ListView;
 
 import static org.cs213.clinic.cli.commands.Command.EMPTY_OUTSTR;
 import static org.cs213.clinic.cli.commands.Command.MISSING_TOKENS_OUTSTR;
@@ -152,14 +152,11 @@ public class InputValidation {
     public String forDoctorAvailability(
             String npi, String dateToken, String timeslotToken) {
         Provider doctor = database.getDoctor(npi);
-        List<Appointment> appointments = database.getAppointments(doctor);
         Date date = new Date(dateToken);
         Timeslot timeslot = database.getTimeslot(timeslotToken);
-        for (Appointment appointment : appointments) {
-            if (appointment.conflicts(date, timeslot)) {
-                return String.format(PROVIDER_CONFLICT_FORMAT,
-                        doctor, timeslotToken);
-            }
+        if (!database.providerAvailable(doctor, date, timeslot)) {
+            return String.format(PROVIDER_CONFLICT_FORMAT,
+                    doctor, timeslotToken);
         }
         return EMPTY_OUTSTR;
     }
@@ -182,21 +179,15 @@ public class InputValidation {
         Date date = new Date(dateToken);
         for (Technician technician : database.getTechnicians()) {
             if (technician == null) { continue; }
-            if (database.roomInUse(technician.getLocation(),
+            if (database.roomInUse(technician.getLocation(), date,
                     timeslot, Radiology.valueOf(service.toUpperCase()))) {
                 database.nextTechnician();
                 continue;
             }
-            boolean foundConflict = false;
-            for (Appointment appointment : database.getAppointments(technician)) {
-                if (appointment.conflicts(date, timeslot)) {
-                    foundConflict = true;
-                    break;
-                }
+            if (database.providerAvailable(technician, date, timeslot)) {
+                return EMPTY_OUTSTR;
             }
 
-            if (!foundConflict) { return EMPTY_OUTSTR; }
-
             database.nextTechnician();
         }
 
@@ -222,7 +213,7 @@ public class InputValidation {
             String dateToken,
             String timeslotToken) {
 
-        List<Appointment> appointments = database
+        ListView<Appointment> appointments = database
                 .getAppointments(fnameToken, lnameToken, dobToken);
         Date date = new Date(dateToken);
         Timeslot timeslot = database.getTimeslot(timeslotToken);
@@ -254,7 +245,7 @@ public class InputValidation {
             String dateToken,
             String timeslotToken) {
 
-        List<Appointment> appointments = database
+        ListView<Appointment> appointments = database
                 .getAppointments(fnameToken, lnameToken, dobToken);
         Date date = new Date(dateToken);
         Timeslot timeslot = database.getTimeslot(timeslotToken);
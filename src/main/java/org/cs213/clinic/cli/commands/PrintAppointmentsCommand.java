@@ -1,6 +1,6 @@
 package org.cs213.clinic.cli.commands;
 
-import org.cs213.clinic.core.Appointment;
+import org.cs213.clinic.core.AppointmentOrder;
 import org.cs213.clinic.core.Database;
 
 /**
@@ -47,31 +47,36 @@ public class PrintAppointmentsCommand implements Command {
     }
 
     /**
-     * This accesses the appointments list in the database to sort and print
-     * all appointments by appointment date, time, and finally provider.
+     * This accesses the appointments in the database to print all
+     * appointments by appointment date, time, and finally provider.
      *
      * @param args All arguments for execution (ignored)
      */
     @Override
     public String execute(String[] args) {
-        if (database.getAppointments().isEmpty()) {
-            return EMPTY_CALENDAR_OUTSTR;
+        AppointmentReport report = new AppointmentReport();
+        String error = database.read(() -> collect(report));
+        if (!error.isEmpty()) {
+            return error;
         }
+        return LIST_HEADER_OUTSTR + report.format() + LIST_FOOTER_OUTSTR;
+    }
 
-        database.sortAppointments((a, b) -> {
-            int cmp = a.getDate().compareTo(b.getDate());
-            if (cmp != 0) return cmp;
-            cmp = a.getTimeslot().compareTo(b.getTimeslot());
-            if (cmp != 0) return cmp;
-            return a.getProvider().getProfile()
-                    .compareTo(b.getProvider().getProfile());}
-        );
-
-        StringBuilder builder = new StringBuilder();
-        for (Appointment appointment : database.getAppointments()) {
-            builder.append(appointment.toString()).append("\n");
+    /**
+     * Collects the appointments into the report while the database is locked
+     * for reading.
+     *
+     * @param report the report to collect the appointments into
+     * @return an error message, or an empty string if the appointments were
+     *         collected
+     */
+    private String collect(AppointmentReport report) {
+        if (database.getAppointments().isEmpty()) {
+            return EMPTY_CALENDAR_OUTSTR;
         }
 
-        return LIST_HEADER_OUTSTR + builder + LIST_FOOTER_OUTSTR;
+        report.collect(database,
+                database.getAppointments(AppointmentOrder.DATE_TIME_PROVIDER));
+        return EMPTY_OUTSTR;
     }
 }
@@ -1,11 +1,8 @@
 package org.cs213.clinic.cli.commands;
 
-import org.cs213.clinic.core.Appointment;
 import org.cs213.clinic.core.Database;
-import org.cs213.clinic.core.Person;
 import org.cs213.clinic.core.Provider;
-import org.cs213.clinic.util.List;
-import org.cs213.clinic.util.Sort;
+import org.cs213.clinic.util.ListView;
 
 /**
  * This class is responsible for gathering the credit amount per provider
@@ -62,27 +59,27 @@ public class PrintCreditByProviderCommand implements Command {
      */
     @Override
     public String execute(String[] args) {
-        List<Appointment> appointments = database.getAppointments();
-        if (appointments.isEmpty()) { return EMPTY_CALENDAR_OUTSTR; }
+        return database.read(this::print);
+    }
 
-        List<Provider> providers = database.getProviders();
-        Sort.bubbleSort(providers, Person::compareTo);
-        int[] numOfPatients = new int[providers.size()];
-        StringBuilder builder = new StringBuilder();
-        for (Appointment appointment : appointments) {
-            for (int index = 0; index < numOfPatients.length; index++) {
-                Provider provider = providers.get(index);
-                if (appointment.getProvider().equals(provider)) {
-                    numOfPatients[index]++;
-                    break;
-                }
-            }
+    /**
+     * Prints the credit of each provider while the database is locked for
+     * reading.
+     *
+     * @return the credit amounts by provider
+     */
+    private String print() {
+        if (database.getAppointmentCount() == 0) {
+            return EMPTY_CALENDAR_OUTSTR;
         }
 
+        ListView<Provider> providers = database.getProvidersInOrder();
+        StringBuilder builder = new StringBuilder();
         for (int index = 0; index < providers.size(); index++) {
             Provider provider = providers.get(index);
             final int id = index + 1;
-            final double credit = provider.rate() * numOfPatients[index];
+            final double credit = provider.rate() *
+                database.getAppointmentCount(provider);
             builder.append(String.format(CREDIT_FORMAT,
                 id, provider.getProfile(), credit));
         }
@@ -1,6 +1,6 @@
 package org.cs213.clinic.cli.commands;
 
-import org.cs213.clinic.core.Appointment;
+import org.cs213.clinic.core.AppointmentOrder;
 import org.cs213.clinic.core.Database;
 import org.cs213.clinic.core.Imaging;
 
@@ -52,26 +52,30 @@ public class PrintImagingAppointmentsCommand implements Command {
      */
     @Override
     public String execute(String[] args) {
-        if (database.getAppointments().isEmpty()) {
-            return EMPTY_CALENDAR_OUTSTR;
+        AppointmentReport report = new AppointmentReport();
+        String error = database.read(() -> collect(report));
+        if (!error.isEmpty()) {
+            return error;
         }
+        return LIST_HEADER_OUTSTR + report.format() + LIST_FOOTER_OUTSTR;
+    }
 
-        database.sortAppointments((a, b) -> {
-            int cmp = a.getProvider().getLocation().getCounty()
-                .compareTo(b.getProvider().getLocation().getCounty());
-            if (cmp != 0) return cmp;
-            cmp = a.getDate().compareTo(b.getDate());
-            if (cmp != 0) return cmp;
-            return a.getTimeslot().compareTo(b.getTimeslot());
-        });
-
-        StringBuilder builder = new StringBuilder();
-        for (Appointment appointment : database.getAppointments()) {
-            if (appointment instanceof Imaging imaging) {
-                builder.append(imaging).append("\n");
-            }
+    /**
+     * Collects the appointments into the report while the database is locked
+     * for reading.
+     *
+     * @param report the report to collect the appointments into
+     * @return an error message, or an empty string if the appointments were
+     *         collected
+     */
+    private String collect(AppointmentReport report) {
+        if (database.getAppointments().isEmpty()) {
+            return EMPTY_CALENDAR_OUTSTR;
         }
 
-        return LIST_HEADER_OUTSTR + builder + LIST_FOOTER_OUTSTR;
+        report.collect(database,
+                database.getAppointments(AppointmentOrder.COUNTY_DATE_TIME),
+                appointment -> appointment instanceof Imaging);
+        return EMPTY_OUTSTR;
     }
 }
@@ -1,6 +1,6 @@
 package org.cs213.clinic.cli.commands;
 
-import org.cs213.clinic.core.Appointment;
+import org.cs213.clinic.core.AppointmentOrder;
 import org.cs213.clinic.core.Database;
 import org.cs213.clinic.core.Imaging;
 
@@ -56,26 +56,30 @@ public class PrintOfficeAppointmentsCommand implements Command {
      */
     @Override
     public String execute(String[] args) {
+        AppointmentReport report = new AppointmentReport();
+        String error = database.read(() -> collect(report));
+        if (!error.isEmpty()) {
+            return error;
+        }
+        return HEADER_OUTSTR + report.format() + FOOTER_OUTSTR;
+    }
+
+    /**
+     * Collects the appointments into the report while the database is locked
+     * for reading.
+     *
+     * @param report the report to collect the appointments into
+     * @return an error message, or an empty string if the appointments were
+     *         collected
+     */
+    private String collect(AppointmentReport report) {
         if (database.getAppointments().isEmpty()) {
             return EMPTY_CALENDER_OUTSTR;
         }
 
-        database.sortAppointments((a, b) -> {
-            int compare = a.getProvider().getLocation().getCounty()
-                .compareTo(b.getProvider().getLocation().getCounty());
-            if (compare != 0)
-                return compare;
-            compare = a.getDate().compareTo(b.getDate());
-            if (compare != 0)
-                return compare;
-            return a.getTimeslot().compareTo(b.getTimeslot());
-        });
-        StringBuilder builder = new StringBuilder();
-        for (Appointment appointment : database.getAppointments()) {
-            if (!(appointment instanceof Imaging imaging)) {
-                builder.append(appointment).append("\n");
-            }
-        }
-        return HEADER_OUTSTR + builder + FOOTER_OUTSTR;
+        report.collect(database,
+                database.getAppointments(AppointmentOrder.COUNTY_DATE_TIME),
+                appointment -> !(appointment instanceof Imaging));
+        return EMPTY_OUTSTR;
     }
 }
@@ -1,11 +1,15 @@
 package org.cs213.clinic.cli.commands;
 
-import org.cs213.clinic.core.Appointment;
 import org.cs213.clinic.core.Database;
 import org.cs213.clinic.core.Patient;
 import org.cs213.clinic.util.List;
 import org.cs213.clinic.util.Sort;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+
 /**
  * The StatementsByPatientCommand is the representation of a command to print
  * all billing statements by the patient ordering. There are no additional
@@ -62,31 +66,95 @@ public class PrintStatementsByPatientCommand implements Command {
      */
     @Override
     public String execute(String[] args) {
-        List<Appointment> appointments = database.getAppointments();
-        if (appointments.isEmpty()) { return EMPTY_CALENDAR_OUTSTR; }
+        StringWriter out = new StringWriter();
+        try {
+            execute(args, out);
+        } catch (IOException e) { // A StringWriter never throws
+            throw new UncheckedIOException(e);
+        }
+        return out.toString();
+    }
 
-        List<Patient> patients = database.getPatients();
-        Sort.bubbleSort(patients);
-        StringBuilder builder = new StringBuilder();
-        // Finalize corresponding appointments to patient's visits
-        for (Appointment appointment : appointments) {
-            for (Patient patient : patients) {
-                if (appointment.getPatient().equals(patient)) {
-                    patient.addVisit(appointment);
-                    break;
-                }
-            }
+    /**
+     * Bills the appointments like {@link #execute(String[])}, but writes the
+     * statements to the writer one at a time. The database is only locked
+     * while the appointments are billed, not while the statements are
+     * written.
+     *
+     * @param args All arguments for execution (ignored)
+     * @param out  the writer to write the statements to
+     * @throws IOException if writing fails
+     */
+    @Override
+    public void execute(String[] args, Writer out) throws IOException {
+        List<Statement> statements = new List<>();
+        String error = database.write(() -> bill(statements));
+        if (!error.isEmpty()) {
+            out.write(error);
+            return;
         }
-        database.clearActiveAppointments();
 
-        for (int index = 0; index < patients.size(); index++) {
-            Patient patient = patients.get(index);
+        out.write(LIST_HEADER_OUTSTR);
+        for (int index = 0; index < statements.size(); index++) {
+            Statement statement = statements.get(index);
             final int id = index + 1;
-            final double charge = patient.charge();
-            builder.append(String.format(STATEMENT_FORMAT,
-                    id, patient, charge));
+            final double charge = statement.charge;
+            out.write(String.format(STATEMENT_FORMAT,
+                    id, statement.patient, charge));
         }
+        out.write(LIST_FOOTER_OUTSTR);
+    }
 
-        return LIST_HEADER_OUTSTR + builder + LIST_FOOTER_OUTSTR;
+    /**
+     * Moves every appointment into the visits of its patient while the
+     * database is locked for writing, and gathers the statement of every
+     * patient in patient ordering.
+     *
+     * @param statements the list to gather the statements in
+     * @return an error message, or an empty string if the appointments were
+     *         billed
+     */
+    private String bill(List<Statement> statements) {
+        if (database.getAppointmentCount() == 0) {
+            return EMPTY_CALENDAR_OUTSTR;
+        }
+
+        // Finalize corresponding appointments to patient's visits
+        database.billActiveAppointments();
+
+        List<Patient> patients = database.getPatients().toList();
+        Sort.mergeSort(patients);
+        for (Patient patient : patients) {
+            statements.add(new Statement(patient,
+                    database.getCharge(patient)));
+        }
+        return EMPTY_OUTSTR;
+    }
+
+    /**
+     * The statement of a patient: the patient and their charge at the time
+     * the appointments were billed.
+     */
+    private static final class Statement {
+        /**
+         * The patient the statement is for.
+         */
+        private final Patient patient;
+
+        /**
+         * The total charge of the patient's visits.
+         */
+        private final int charge;
+
+        /**
+         * Constructs the statement of a patient.
+         *
+         * @param patient the patient
+         * @param charge  the total charge of the patient's visits
+         */
+        private Statement(Patient patient, int charge) {
+            this.patient = patient;
+            this.charge = charge;
+        }
     }
 }
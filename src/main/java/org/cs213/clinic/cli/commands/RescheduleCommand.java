@@ -68,6 +68,12 @@ public class RescheduleCommand implements Command {
      */
     public static final String RESCHEDULED_FORMAT = "Rescheduled to %s\n";
 
+    /**
+     * The error format string for an appointment that does not exist.
+     */
+    private static final String DOES_NOT_EXIST_FORMAT = "%s %s %s does not" +
+        " exist.\n";
+
     /**
      * The centralized database that holds the list of appointments.
      */
@@ -78,6 +84,11 @@ public class RescheduleCommand implements Command {
      */
     private final InputValidation inputValidation;
 
+    /**
+     * The checks of the arguments, in the order they run.
+     */
+    private final Validator[] validators;
+
     /**
      * Initializes the RescheduleCommand with a centralized database
      * with all the clinic's data.
@@ -87,6 +98,24 @@ public class RescheduleCommand implements Command {
     public RescheduleCommand(Database database) {
         this.database = database;
         this.inputValidation = new InputValidation(database);
+        this.validators = new Validator[] {
+                args -> inputValidation.forTokenCount(args, ARGUMENT_COUNT,
+                        USAGE_OUTSTR),
+                args -> inputValidation.forScheduleAndPatientInfo(
+                    args[DATE_INDEX],
+                    args[TIMESLOT_INDEX], args[PT_FNAME_INDEX],
+                    args[PT_LNAME_INDEX], args[PT_DOB_INDEX]),
+                args -> inputValidation.forAppointmentExists(args[DATE_INDEX],
+                    args[TIMESLOT_INDEX], args[PT_FNAME_INDEX],
+                    args[PT_LNAME_INDEX], args[PT_DOB_INDEX],
+                    DOES_NOT_EXIST_FORMAT),
+                args -> inputValidation.forTimeslot(args[NEW_TIMESLOT_INDEX]),
+                args -> inputValidation.forPatientAvailabilityDetailed(
+                    args[PT_FNAME_INDEX], args[PT_LNAME_INDEX],
+                    args[PT_DOB_INDEX], args[DATE_INDEX],
+                    args[NEW_TIMESLOT_INDEX]),
+                this::forNewTimeslotAvailability
+        };
     }
 
     /**
@@ -99,6 +128,17 @@ public class RescheduleCommand implements Command {
      */
     @Override
     public String execute(String[] args) {
+        return database.write(() -> reschedule(args));
+    }
+
+    /**
+     * Reschedules the appointment while the database is locked for writing,
+     * so the checks and the move happen as one step.
+     *
+     * @param args the arguments needed to execute the command
+     * @return the result of the rescheduling process
+     */
+    private String reschedule(String[] args) {
         String error = validateInput(args);
         if (!error.isEmpty()) {
             return error;
@@ -111,10 +151,13 @@ public class RescheduleCommand implements Command {
         Person person = new Person(profile);
         Appointment appointment = database.getAppointment(date, timeslot, person);
         database.removeAppointment(appointment);
+        // Reports format booked appointments without a lock; never change one
         Timeslot newTimeslot = database.getTimeslot(args[NEW_TIMESLOT_INDEX]);
-        appointment.setTimeslot(newTimeslot);
-        database.addAppointment(appointment);
-        return String.format(RESCHEDULED_FORMAT, appointment);
+        Appointment rescheduled = new Appointment(appointment.getDate(),
+                newTimeslot, appointment.getPatient(),
+                appointment.getProvider());
+        database.addAppointment(rescheduled);
+        return String.format(RESCHEDULED_FORMAT, rescheduled);
     }
 
     /**
@@ -127,30 +170,18 @@ public class RescheduleCommand implements Command {
      * string
      */
     private String validateInput(String[] args) {
-        final String customFormatForDNE = "%s %s %s does not exist.\n";
-        Procedure[] procedures = {
-                () -> inputValidation.forTokenCount(args, ARGUMENT_COUNT,
-                        USAGE_OUTSTR),
-                () -> inputValidation.forScheduleAndPatientInfo(
-                    args[DATE_INDEX],
-                    args[TIMESLOT_INDEX], args[PT_FNAME_INDEX],
-                    args[PT_LNAME_INDEX], args[PT_DOB_INDEX]),
-                () -> inputValidation.forAppointmentExists(args[DATE_INDEX],
-                    args[TIMESLOT_INDEX], args[PT_FNAME_INDEX],
-                    args[PT_LNAME_INDEX], args[PT_DOB_INDEX],
-                    customFormatForDNE),
-                () -> inputValidation.forTimeslot(args[NEW_TIMESLOT_INDEX]),
-                () -> inputValidation.forPatientAvailabilityDetailed(
-                    args[PT_FNAME_INDEX], args[PT_LNAME_INDEX],
-                    args[PT_DOB_INDEX], args[DATE_INDEX],
-                    args[NEW_TIMESLOT_INDEX])
-        };
-
-        for (Procedure procedure : procedures) {
-            String error = procedure.run();
-            if (!error.isEmpty()) { return error; }
-        }
+        return Validator.validateAll(validators, args);
+    }
 
+    /**
+     * Checks that the doctor of the appointment is free at the new timeslot.
+     * The appointment must exist, which the earlier checks make sure of.
+     *
+     * @param args tokens to process
+     * @return an error message if the doctor is busy, otherwise an empty
+     * string
+     */
+    private String forNewTimeslotAvailability(String[] args) {
         Date date = new Date(args[DATE_INDEX]);
         Timeslot timeslot = database.getTimeslot(args[TIMESLOT_INDEX]);
         Profile profile = new Profile(args[PT_FNAME_INDEX], args[PT_LNAME_INDEX],
@@ -162,4 +193,4 @@ public class RescheduleCommand implements Command {
         return inputValidation.forDoctorAvailability(doctor.getNpi(),
                 args[DATE_INDEX], args[NEW_TIMESLOT_INDEX]);
     }
-}
\ No newline at end of file
+}
@@ -95,6 +95,18 @@ public class TechnicianScheduleCommand implements Command {
      */
     @Override
     public String execute(String[] args) {
+        return database.write(() -> schedule(args));
+    }
+
+    /**
+     * Schedules the imaging appointment while the database is locked for
+     * writing, so the checks, the rotation and the booking happen as one
+     * step.
+     *
+     * @param args arguments to execute the command with
+     * @return a status string of successful or unsuccessful execution
+     */
+    private String schedule(String[] args) {
         String error = validateInput(args);
         if (!error.isEmpty()) { return error; }
         Date scheduledDate = new Date(args[DATE_INDEX]);
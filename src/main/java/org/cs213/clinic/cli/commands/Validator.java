@@ -0,0 +1,35 @@
+package org.cs213.clinic.cli.commands;
+
+/**
+ * This interface represents one check of a command's arguments. Commands
+ * build their validators once and run them in order on every execution, so
+ * validating the arguments allocates no new checks each time.
+ *
+ * @author Elian Deogracia-Brito
+ * @author Tiara Clyde
+ */
+public interface Validator {
+    /**
+     * Checks the arguments of a command.
+     *
+     * @param args the arguments to check
+     * @return an error message, or an empty string if the arguments are valid
+     */
+    String validate(String[] args);
+
+    /**
+     * Runs validators in order until one of them finds an error.
+     *
+     * @param validators the validators to run
+     * @param args       the arguments to check
+     * @return the first error message, or an empty string if every
+     *         validator passed
+     */
+    static String validateAll(Validator[] validators, String[] args) {
+        for (Validator validator : validators) {
+            String error = validator.validate(args);
+            if (!error.isEmpty()) { return error; }
+        }
+        return Command.EMPTY_OUTSTR;
+    }
+}
@@ -0,0 +1,113 @@
+package org.cs213.clinic.cli.registry;
+
+/**
+ * The CommandParser splits command lines into the command token and its
+ * arguments, in a single pass over the characters of each line. Like a
+ * StringTokenizer, empty tokens are skipped. The arguments are placed in an
+ * array that is reused for every line with the same number of arguments, so
+ * parsing only allocates the token strings themselves. Commands must not hold
+ * on to their arguments array once they have executed, and a parser must not
+ * be shared between threads.
+ *
+ * @author Elian Deogracia-Brito
+ * @author Tiara Clyde
+ */
+public class CommandParser {
+    /**
+     * Number of arguments up to which the arguments arrays are reused.
+     */
+    private static final int MAX_BUFFERED_ARGS = 16;
+
+    /**
+     * The character tokens are separated by.
+     */
+    private final char delimiter;
+
+    /**
+     * The reusable arguments arrays, indexed by their length.
+     */
+    private final String[][] buffers;
+
+    /**
+     * The command token of the last line parsed.
+     */
+    private String command;
+
+    /**
+     * The arguments of the last line parsed.
+     */
+    private String[] args;
+
+    /**
+     * Constructs a parser for lines with tokens separated by the delimiter.
+     *
+     * @param delimiter the character tokens are separated by
+     */
+    public CommandParser(char delimiter) {
+        this.delimiter = delimiter;
+        this.buffers = new String[MAX_BUFFERED_ARGS + 1][];
+        for (int length = 0; length <= MAX_BUFFERED_ARGS; length++) {
+            buffers[length] = new String[length];
+        }
+    }
+
+    /**
+     * Parses a command line. The command token and arguments are then
+     * available from {@link #getCommand()} and {@link #getArgs()} until the
+     * next line is parsed.
+     *
+     * @param line the command line to parse
+     * @return false if the line has no tokens, otherwise true
+     */
+    public boolean parse(String line) {
+        final int length = line.length();
+        int count = 0;
+        boolean inToken = false;
+        for (int i = 0; i < length; i++) {
+            boolean delim = line.charAt(i) == delimiter;
+            if (!delim && !inToken) count++;
+            inToken = !delim;
+        }
+        if (count == 0) { return false; }
+
+        final int argCount = count - 1;
+        args = argCount <= MAX_BUFFERED_ARGS
+            ? buffers[argCount] : new String[argCount];
+        int index = 0, start = -1;
+        for (int i = 0; i <= length; i++) {
+            boolean delim = i == length || line.charAt(i) == delimiter;
+            if (delim && start >= 0) {
+                String token = line.substring(start, i);
+                if (index == 0) {
+                    command = token;
+                } else {
+                    args[index - 1] = token;
+                }
+                index++;
+                start = -1;
+            } else if (!delim && start < 0) {
+                start = i;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets the command token of the last line parsed.
+     *
+     * @return the command token
+     */
+    public String getCommand() {
+        return command;
+    }
+
+    /**
+     * Gets the arguments of the last line parsed. The array is reused by the
+     * next line with the same number of arguments.
+     *
+     * @return the arguments, excluding the command token
+     */
+    public String[] getArgs() {
+        return args;
+    }
+}
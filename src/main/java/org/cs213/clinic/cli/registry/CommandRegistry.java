@@ -2,6 +2,10 @@ package org.cs213.clinic.cli.registry;
 
 import org.cs213.clinic.cli.commands.Command;
 import org.cs213.clinic.cli.commands.InvalidCommand;
+import org.cs213.clinic.util.Map;
+
+import java.io.IOException;
+import java.io.Writer;
 
 /**
  * The CommandRegistry acts as a registry for all the commands that the CLI
@@ -18,10 +22,10 @@ public class CommandRegistry {
     private final Command invalidCommand = new InvalidCommand();
 
     /**
-     * Array of CommandRegistryEntry objects that map command tokens to their
-     * respective Command objects.
+     * The commands of the registry by their token, built once from the
+     * entries so that finding a command is a single lookup.
      */
-    private final CommandRegistryEntry[] registryEntries;
+    private final Map<String, Command> commands;
 
     /**
      * This constructor initializes the registry with the given array of
@@ -33,7 +37,13 @@ public class CommandRegistry {
      * @see CommandRegistryEntry
      */
     public CommandRegistry(CommandRegistryEntry[] registryEntries) {
-        this.registryEntries = registryEntries;
+        this.commands = new Map<>();
+        for (CommandRegistryEntry entry : registryEntries) {
+            // The first entry of a token wins, as when scanning the entries
+            if (!commands.containsKey(entry.getToken())) {
+                commands.put(entry.getToken(), entry.getCommand());
+            }
+        }
     }
 
     /**
@@ -46,13 +56,9 @@ public class CommandRegistry {
      *         InvalidCommand object if the command token is not found
      */
     private Command getCommand(String commandToken) {
-        for (CommandRegistryEntry entry : registryEntries) {
-            // Command tokens are treated as case-sensitive
-            if (entry.getToken().equals(commandToken)) {
-                return entry.getCommand();
-            }
-        }
-        return invalidCommand;
+        // Command tokens are treated as case-sensitive
+        Command command = commands.get(commandToken);
+        return command == null ? invalidCommand : command;
     }
 
     /**
@@ -69,4 +75,20 @@ public class CommandRegistry {
         Command command = getCommand(commandToken);
         return command.execute(args);
     }
+
+    /**
+     * This method executes the command associated with the given command
+     * token like {@link #executeCommand(String, String[])}, but writes the
+     * result to the writer instead of returning it.
+     *
+     * @param commandToken the token of the command to execute
+     * @param args         the arguments to the command
+     * @param out          the writer to write the result to
+     * @throws IOException if writing fails
+     */
+    public void executeCommand(String commandToken, String[] args, Writer out)
+            throws IOException {
+        Command command = getCommand(commandToken);
+        command.execute(args, out);
+    }
 }
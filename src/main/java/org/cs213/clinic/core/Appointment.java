@@ -1,7 +1,5 @@
 package org.cs213.clinic.core;
 
-import org.cs213.clinic.util.Format;
-
 /**
  * The Appointment class is a representation of a medical appointment
  * which includes a specific date, timeslot, patient profile, and provider.
@@ -12,6 +10,11 @@ import org.cs213.clinic.util.Format;
  * @author Tiara Clyde
  */
 public class Appointment implements Comparable<Appointment> {
+    /**
+     * Number of bits the minute of the day takes up in a packed key.
+     */
+    private static final int MINUTE_BITS = 16;
+
     /**
      * The date of the appointment.
      */
@@ -66,6 +69,30 @@ public class Appointment implements Comparable<Appointment> {
         return timeslot;
     }
 
+    /**
+     * Get the date and timeslot of the appointment packed into a single key.
+     *
+     * @return the packed key of the appointment
+     * @see #key(Date, Timeslot)
+     */
+    public long getKey() {
+        return key(date, timeslot);
+    }
+
+    /**
+     * Packs a date and timeslot into a single key, with the epoch day in the
+     * upper bits and the minute of the day in the lower bits. Keys of valid
+     * dates order the same as comparing the date and then the timeslot.
+     *
+     * @param date     the date
+     * @param timeslot the timeslot
+     * @return the packed key of the date and timeslot
+     */
+    public static long key(Date date, Timeslot timeslot) {
+        return ((long) date.toEpochDay() << MINUTE_BITS) |
+                timeslot.getMinuteOfDay();
+    }
+
     /**
      * Get the patient of whom the appointment is for.
      *
@@ -164,11 +191,24 @@ public class Appointment implements Comparable<Appointment> {
      */
     @Override
     public String toString() {
-        String date = this.date.toString();
-        String timeslot = Format.get12Hour(this.timeslot);
-        String patient = this.patient.toString();
-        String provider = this.provider.toString();
-        return String.format("%s %s %s %s", date, timeslot, patient, provider);
+        StringBuilder builder = new StringBuilder();
+        appendTo(builder);
+        return builder.toString();
+    }
+
+    /**
+     * Appends the string representation of the appointment, as
+     * {@link #toString()} returns it, to a builder without building the
+     * string of the appointment first.
+     *
+     * @param builder the builder to append to
+     */
+    public void appendTo(StringBuilder builder) {
+        date.appendTo(builder);
+        builder.append(' ').append(timeslot.to12Hour()).append(' ');
+        patient.appendTo(builder);
+        builder.append(' ');
+        provider.appendTo(builder);
     }
 
     /**
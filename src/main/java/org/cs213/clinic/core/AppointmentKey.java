@@ -0,0 +1,81 @@
+package org.cs213.clinic.core;
+
+/**
+ * The AppointmentKey class is the composite key the Database uses to index
+ * appointments by their date, timeslot and patient. Patients are matched by
+ * their profile with the first and last name compared ignoring case, which is
+ * how appointments are looked up for cancelling and rescheduling.
+ *
+ * @author Elian Deogracia-Brito
+ * @author Tiara Clyde
+ */
+final class AppointmentKey {
+    /**
+     * The date and timeslot of the appointment packed into a single key.
+     */
+    private final long slot;
+
+    /**
+     * The date of the appointment.
+     */
+    private final Date date;
+
+    /**
+     * The profile of the patient.
+     */
+    private final Profile profile;
+
+    /**
+     * The cached hash code of the key.
+     */
+    private final int hash;
+
+    /**
+     * Constructs a key for the date, timeslot and patient profile.
+     *
+     * @param date     the date of the appointment
+     * @param timeslot the timeslot of the appointment
+     * @param profile  the profile of the patient
+     */
+    AppointmentKey(Date date, Timeslot timeslot, Profile profile) {
+        this.slot = Appointment.key(date, timeslot);
+        this.date = date;
+        this.profile = profile;
+        this.hash = Long.hashCode(slot) * 31 + profile.hashCodeIgnoreCase();
+    }
+
+    /**
+     * Constructs the key that indexes an existing appointment.
+     *
+     * @param appointment the appointment to create the key for
+     */
+    AppointmentKey(Appointment appointment) {
+        this(appointment.getDate(), appointment.getTimeslot(),
+                appointment.getPatient().getProfile());
+    }
+
+    /**
+     * Checks if two keys refer to the same date, timeslot and patient.
+     *
+     * @param obj the object to compare
+     * @return true if the keys are equal, false otherwise
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (!(obj instanceof AppointmentKey other)) { return false; }
+        return hash == other.hash &&
+                slot == other.slot &&
+                date.equals(other.date) &&
+                profile.equalsIgnoreCase(other.profile);
+    }
+
+    /**
+     * Gets the hash code of the key.
+     *
+     * @return the hash code of the key
+     */
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+}
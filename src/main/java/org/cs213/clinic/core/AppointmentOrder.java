@@ -0,0 +1,54 @@
+package org.cs213.clinic.core;
+
+import org.cs213.clinic.util.CustomComparator;
+
+/**
+ * The AppointmentOrder enum contains the orderings that appointments are
+ * listed in. The Database keeps the appointments sorted by every ordering as
+ * they are added and removed, so printing in any ordering is a walk over the
+ * appointments.
+ *
+ * @author Elian Deogracia-Brito
+ * @author Tiara Clyde
+ */
+public enum AppointmentOrder implements CustomComparator<Appointment> {
+    /** Ordered by appointment date, time, then provider. */
+    DATE_TIME_PROVIDER {
+        @Override
+        public int compare(Appointment a, Appointment b) {
+            int cmp = Long.compare(a.getKey(), b.getKey());
+            if (cmp != 0) { return cmp; }
+            return a.getProvider().getProfile()
+                    .compareTo(b.getProvider().getProfile());
+        }
+    },
+    /**
+     * Ordered by the provider's county, appointment date, time, then
+     * provider.
+     */
+    COUNTY_DATE_TIME {
+        @Override
+        public int compare(Appointment a, Appointment b) {
+            int cmp = a.getProvider().getLocation().getCounty()
+                    .compareTo(b.getProvider().getLocation().getCounty());
+            if (cmp != 0) { return cmp; }
+            cmp = Long.compare(a.getKey(), b.getKey());
+            if (cmp != 0) { return cmp; }
+            return a.getProvider().getProfile()
+                    .compareTo(b.getProvider().getProfile());
+        }
+    },
+    /** Ordered by patient, appointment date, time, then provider. */
+    PATIENT_DATE_TIME {
+        @Override
+        public int compare(Appointment a, Appointment b) {
+            int cmp = a.getPatient().getProfile()
+                    .compareTo(b.getPatient().getProfile());
+            if (cmp != 0) { return cmp; }
+            cmp = Long.compare(a.getKey(), b.getKey());
+            if (cmp != 0) { return cmp; }
+            return a.getProvider().getProfile()
+                    .compareTo(b.getProvider().getProfile());
+        }
+    }
+}
@@ -11,13 +11,19 @@ import org.cs213.clinic.cli.commands.PrintOfficeAppointmentsCommand;
 import org.cs213.clinic.cli.commands.PrintStatementsByPatientCommand;
 import org.cs213.clinic.cli.commands.RescheduleCommand;
 import org.cs213.clinic.cli.commands.TechnicianScheduleCommand;
+import org.cs213.clinic.cli.registry.CommandParser;
 import org.cs213.clinic.cli.registry.CommandRegistry;
 import org.cs213.clinic.cli.registry.CommandRegistryEntry;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileNotFoundException;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.util.Scanner;
-import java.util.StringTokenizer;
 
 /**
  * This is the user interface class that will be used to manage appointments.
@@ -61,6 +67,11 @@ public class ClinicManager {
      */
     private static final String PROVIDERS_TXT = "providers.txt";
 
+    /**
+     * The path of the providers file loaded by {@link #ClinicManager()}.
+     */
+    public static final String PROVIDERS_PATH = DIR + PROVIDERS_TXT;
+
     /**
      * Delimiter for reading from files.
      */
@@ -69,7 +80,29 @@ public class ClinicManager {
     /**
      * Delimiter for reading from command line.
      */
-    private static final String CLI_DELIM = ",";
+    private static final char CLI_DELIM = ',';
+
+    /**
+     * Number of characters read from a command file at a time in batch mode.
+     */
+    private static final int BATCH_READ_BUFFER = 1 << 16;
+
+    /**
+     * Number of characters of output held in batch mode before they are
+     * written out.
+     */
+    private static final int BATCH_OUTPUT_CHUNK = 1 << 16;
+
+    /**
+     * The summary reported after a batch of commands has been processed.
+     */
+    private static final String BATCH_SUMMARY_FORMAT = "Processed %d " +
+        "commands in %.3f seconds (%.0f commands/sec).%n";
+
+    /**
+     * Number of nanoseconds in a second.
+     */
+    private static final double NANOS_PER_SECOND = 1e9;
 
     /**
      * The CommandRegistry object that will be used to manage programmatic
@@ -83,6 +116,12 @@ public class ClinicManager {
      */
     private final Database database;
 
+    /**
+     * The parser that splits command lines, reusing its arguments arrays from
+     * one command to the next.
+     */
+    private final CommandParser commandParser = new CommandParser(CLI_DELIM);
+
     /**
      * This constructor initializes te user interface user to manage their
      * appointments without the providers file.
@@ -90,17 +129,21 @@ public class ClinicManager {
      * @param dontLoad boolean to indicate not to load providers
      */
     public ClinicManager(boolean dontLoad) {
-        database = new Database();
-        final int[] timeslotsBegin = {9, 14};
-        final int numOfTimeslots = 6, slotDurationMinutes = 30;
-        for (int startHour : timeslotsBegin) {
-            int minutes = 0;
-            for (int slot = 0; slot < numOfTimeslots; slot++) {
-                Timeslot timeslot = new Timeslot(startHour, minutes,
-                        0, slotDurationMinutes * slot);
-                database.addTimeslot(timeslot);
-            }
-        }
+        database = new Database(createTimeslotTable());
+
+        commandRegistry = getDefaultCommandRegistry(database);
+    }
+
+    /**
+     * This constructor initializes the user interface over a given database
+     * without the providers file, for example a {@link ConcurrentDatabase}
+     * shared by several threads. The database should be created with
+     * {@link #createTimeslotTable()}.
+     *
+     * @param database the database to manage
+     */
+    public ClinicManager(Database database) {
+        this.database = database;
 
         commandRegistry = getDefaultCommandRegistry(database);
     }
@@ -118,19 +161,9 @@ public class ClinicManager {
      * @see CommandRegistryEntry
      */
     public ClinicManager() throws FileNotFoundException {
-        database = new Database();
-        final int[] timeslotsBegin = {9, 14};
-        final int numOfTimeslots = 6, slotDurationMinutes = 30;
-        for (int startHour : timeslotsBegin) {
-            int minutes = 0;
-            for (int slot = 0; slot < numOfTimeslots; slot++) {
-                Timeslot timeslot = new Timeslot(startHour, minutes,
-                    0, slotDurationMinutes * slot);
-                database.addTimeslot(timeslot);
-            }
-        }
+        database = new Database(createTimeslotTable());
 
-        Scanner fileStream = new Scanner(new File(DIR + PROVIDERS_TXT));
+        Scanner fileStream = new Scanner(new File(PROVIDERS_PATH));
         while (fileStream.hasNextLine()) {
             String tokens = fileStream.nextLine();
             Provider provider = ProviderFactory.createProvider(tokens, FILE_DELIM);
@@ -146,6 +179,28 @@ public class ClinicManager {
         commandRegistry = getDefaultCommandRegistry(database);
     }
 
+    /**
+     * Create the table of timeslots the clinic books appointments in: six
+     * half hour slots from 9:00 AM and six from 2:00 PM.
+     *
+     * @return the table of timeslots
+     */
+    public static TimeslotTable createTimeslotTable() {
+        final int[] timeslotsBegin = {9, 14};
+        final int numOfTimeslots = 6, slotDurationMinutes = 30;
+        Timeslot[] timeslots =
+                new Timeslot[timeslotsBegin.length * numOfTimeslots];
+        int index = 0;
+        for (int startHour : timeslotsBegin) {
+            int minutes = 0;
+            for (int slot = 0; slot < numOfTimeslots; slot++) {
+                timeslots[index++] = new Timeslot(startHour, minutes,
+                        0, slotDurationMinutes * slot);
+            }
+        }
+        return new TimeslotTable(timeslots);
+    }
+
     /**
      * Create a command registry with all default commands mentioned in the
      * project 2 description.
@@ -225,17 +280,13 @@ public class ClinicManager {
                 break;
             }
 
-            StringTokenizer tokenizer = new StringTokenizer(input, CLI_DELIM);
-            // We will always have at least one token; empty inputs are ignored
-            String commandToken = tokenizer.nextToken();
+            if (!commandParser.parse(input)) { // Ignore delimiter-only inputs
+                continue;
+            }
             // Command classes are responsible for handling size 0 args so
             // we don't need to check for them
-            String[] args = new String[tokenizer.countTokens()];
-            for (int index = 0; index < args.length; index++) {
-                args[index] = tokenizer.nextToken();
-            }
-
-            String outstr = commandRegistry.executeCommand(commandToken, args);
+            String outstr = commandRegistry.executeCommand(
+                    commandParser.getCommand(), commandParser.getArgs());
             System.out.print(outstr);
         }
 
@@ -243,6 +294,72 @@ public class ClinicManager {
         System.out.println(QUIT_FOOTER);
     }
 
+    /**
+     * Processes every command in a command file in batch mode and reports the
+     * throughput on the standard error stream. The output of the commands is
+     * written to the standard output stream exactly as {@link #run()} would
+     * print it.
+     *
+     * @param file the command file to process
+     * @throws IOException if the file can't be read or the output can't be
+     *                     written
+     * @see #runBatch(BufferedReader, Writer)
+     */
+    public void runBatch(File file) throws IOException {
+        // runBatch(BufferedReader, Writer) buffers the output itself
+        Writer writer = new OutputStreamWriter(System.out);
+        try (BufferedReader reader = new BufferedReader(new FileReader(file),
+                BATCH_READ_BUFFER)) {
+            final long start = System.nanoTime();
+            final long commands = runBatch(reader, writer);
+            final double seconds = (System.nanoTime() - start) /
+                NANOS_PER_SECOND;
+            System.err.printf(BATCH_SUMMARY_FORMAT, commands, seconds,
+                seconds > 0 ? commands / seconds : 0);
+        }
+    }
+
+    /**
+     * This method processes commands in batch mode. Commands are streamed
+     * from the reader one line at a time until the end of the input or a
+     * "Q" line, and are processed in the same way as {@link #run()}. Instead
+     * of printing the result of each command, commands write their output
+     * to the writer through a buffer of {@link #BATCH_OUTPUT_CHUNK}
+     * characters, which is flushed once every command has been processed.
+     *
+     * @param reader the reader to stream commands from
+     * @param writer the writer to write output to
+     * @return the number of commands processed
+     * @throws IOException if reading or writing fails
+     */
+    public long runBatch(BufferedReader reader, Writer writer)
+            throws IOException {
+        Writer output = new BufferedWriter(writer, BATCH_OUTPUT_CHUNK);
+        output.write(INIT_HEADER);
+        output.write(System.lineSeparator());
+
+        long commands = 0;
+        String input;
+        while ((input = reader.readLine()) != null) {
+            if (input.equals("Q")) {
+                break;
+            }
+
+            if (!commandParser.parse(input)) { // Ignore empty inputs
+                continue;
+            }
+
+            commandRegistry.executeCommand(commandParser.getCommand(),
+                    commandParser.getArgs(), output);
+            commands++;
+        }
+
+        output.write(QUIT_FOOTER);
+        output.write(System.lineSeparator());
+        output.flush();
+        return commands;
+    }
+
     /**
      * Gets the command registry from the clinic manager.
      *
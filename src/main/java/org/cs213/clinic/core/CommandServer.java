@@ -0,0 +1,390 @@
+package org.cs213.clinic.core;
+
+import org.cs213.clinic.cli.registry.CommandParser;
+import org.cs213.clinic.cli.registry.CommandRegistry;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FilterWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * The CommandServer class lets clients on the network run commands against
+ * one shared database. Clients connect over TCP and send the same
+ * comma-delimited command lines that {@link ClinicManager#run()} reads, one
+ * per line. Every line is dispatched through
+ * {@link CommandRegistry#executeCommand(String, String[], Writer)} and
+ * answered with the output of the command followed by a line holding only
+ * {@value #END_OF_RESPONSE}, so a client can tell where each response ends;
+ * output lines that start with {@value #END_OF_RESPONSE} get one more in
+ * front, which the client removes. A line with no command is answered with
+ * an empty response, and "Q" closes the connection. A command that fails is
+ * answered with the error, and the connection goes on with the next one.
+ *
+ * <p>Clients may pipeline commands: send many lines without waiting for the
+ * responses. The commands of a connection run one at a time in the order
+ * they were sent, and the responses come back in the same order. Responses
+ * are flushed in batches, once every command received so far has run (or
+ * the write buffer fills), rather than after every command, so a bulk
+ * import pays for one round trip per batch instead of per command. A
+ * pipelining client must read responses while it sends, or both sides may
+ * block on full socket buffers.</p>
+ *
+ * <p>Each connection is served by a thread of its own, a virtual thread when
+ * the Java runtime has them, so thousands of idle clients only cost their
+ * buffers. The commands of different connections run at the same time, so
+ * the registry should run over a {@link ConcurrentDatabase}.</p>
+ *
+ * @author Elian Deogracia-Brito
+ * @author Tiara Clyde
+ */
+public class CommandServer implements Runnable, AutoCloseable {
+    /**
+     * The line that ends every response.
+     */
+    public static final String END_OF_RESPONSE = ".";
+
+    /**
+     * Format of the response to a command that failed, given the command and
+     * the error.
+     */
+    static final String COMMAND_FAILED_FORMAT = "%s failed: %s\n";
+
+    /**
+     * The command that closes the connection.
+     */
+    private static final String QUIT_COMMAND = "Q";
+
+    /**
+     * The character tokens of a command line are separated by.
+     */
+    private static final char COMMAND_DELIM = ',';
+
+    /**
+     * Number of connections waiting to be accepted before new ones are
+     * refused.
+     */
+    private static final int BACKLOG = 1 << 12;
+
+    /**
+     * Size of the read and write buffers of each connection.
+     */
+    private static final int CONNECTION_BUFFER = 1 << 12;
+
+    /**
+     * Milliseconds to wait before accepting again after accepting failed.
+     */
+    private static final long ACCEPT_RETRY_MILLIS = 100;
+
+    /**
+     * The commands clients can run.
+     */
+    private final CommandRegistry commandRegistry;
+
+    /**
+     * The socket connections are accepted on.
+     */
+    private final ServerSocket serverSocket;
+
+    /**
+     * Creates the thread of each connection.
+     */
+    private final ThreadFactory connectionThreads;
+
+    /**
+     * The connections being served, closed with the server.
+     */
+    private final Set<Socket> connections = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Whether the server was closed.
+     */
+    private volatile boolean closed;
+
+    /**
+     * Opens a server for the commands of a registry on a port of every
+     * network interface.
+     *
+     * @param commandRegistry the commands clients can run
+     * @param port            the port to listen on, or 0 for any free port
+     * @throws IOException if the port can't be listened on
+     */
+    public CommandServer(CommandRegistry commandRegistry, int port)
+            throws IOException {
+        this(commandRegistry, new InetSocketAddress(port));
+    }
+
+    /**
+     * Opens a server for the commands of a registry on an address, for
+     * example the loopback address to only serve the local machine.
+     *
+     * @param commandRegistry the commands clients can run
+     * @param address         the address to listen on
+     * @throws IOException if the address can't be listened on
+     */
+    public CommandServer(CommandRegistry commandRegistry,
+                         InetSocketAddress address) throws IOException {
+        this.commandRegistry = commandRegistry;
+        this.serverSocket = new ServerSocket();
+        this.serverSocket.bind(address, BACKLOG);
+        this.connectionThreads = createConnectionThreads();
+    }
+
+    /**
+     * Opens a server on a port of the loopback address.
+     *
+     * @param commandRegistry the commands clients can run
+     * @param port            the port to listen on, or 0 for any free port
+     * @return the server
+     * @throws IOException if the port can't be listened on
+     */
+    public static CommandServer local(CommandRegistry commandRegistry,
+                                      int port) throws IOException {
+        return new CommandServer(commandRegistry, new InetSocketAddress(
+                InetAddress.getLoopbackAddress(), port));
+    }
+
+    /**
+     * Gets a factory of virtual threads if the Java runtime has them, and
+     * otherwise of daemon platform threads. Virtual threads are looked up
+     * reflectively so the server still builds for older runtimes.
+     *
+     * @return the factory of connection threads
+     */
+    private static ThreadFactory createConnectionThreads() {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            return (ThreadFactory) Class.forName("java.lang.Thread$Builder")
+                    .getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException e) { // Before Java 21
+            return runnable -> {
+                Thread thread = new Thread(runnable);
+                thread.setDaemon(true);
+                return thread;
+            };
+        }
+    }
+
+    /**
+     * Gets the port the server listens on.
+     *
+     * @return the port
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Accepts connections until the server is closed, starting a thread to
+     * serve each of them. When accepting fails, for example because the
+     * process ran out of file descriptors, the error is reported and the
+     * server waits briefly before it tries again.
+     */
+    @Override
+    public void run() {
+        while (!closed) {
+            Socket socket;
+            try {
+                socket = serverSocket.accept();
+            } catch (IOException e) {
+                if (closed) { return; }
+                System.err.println("Error accepting a connection: " +
+                        e.getMessage());
+                try {
+                    Thread.sleep(ACCEPT_RETRY_MILLIS);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                continue;
+            }
+            connections.add(socket);
+            if (closed) {
+                closeQuietly(socket);
+                return;
+            }
+            connectionThreads.newThread(() -> serve(socket)).start();
+        }
+    }
+
+    /**
+     * Runs the commands of a connection until the client quits or
+     * disconnects.
+     *
+     * @param socket the connection
+     */
+    private void serve(Socket socket) {
+        CommandParser commandParser = new CommandParser(COMMAND_DELIM);
+        try (socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(
+                     socket.getInputStream(), StandardCharsets.UTF_8),
+                     CONNECTION_BUFFER);
+             Writer out = new BufferedWriter(new OutputStreamWriter(
+                     socket.getOutputStream(), StandardCharsets.UTF_8),
+                     CONNECTION_BUFFER)) {
+            ResponseWriter response = new ResponseWriter(out);
+            String line;
+            while ((line = in.readLine()) != null &&
+                    !line.equals(QUIT_COMMAND)) {
+                if (commandParser.parse(line)) {
+                    execute(commandParser, response);
+                }
+                response.end();
+                if (!in.ready()) { // Answer the batch of commands received
+                    out.flush();
+                }
+            }
+        } catch (IOException e) {
+            // The client disconnected; there is no one to report to
+        } finally {
+            connections.remove(socket);
+        }
+    }
+
+    /**
+     * Runs a parsed command, answering with the error if it fails so that
+     * the commands pipelined after it still run.
+     *
+     * @param commandParser the parsed command
+     * @param response      the writer of the response
+     * @throws IOException if the connection can't be written
+     */
+    private void execute(CommandParser commandParser, ResponseWriter response)
+            throws IOException {
+        try {
+            commandRegistry.executeCommand(commandParser.getCommand(),
+                    commandParser.getArgs(), response);
+        } catch (RuntimeException e) {
+            response.write(String.format(COMMAND_FAILED_FORMAT,
+                    commandParser.getCommand(), e));
+        }
+    }
+
+    /**
+     * Closes a socket, ignoring a failure to close it.
+     *
+     * @param socket the socket
+     */
+    private static void closeQuietly(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            // Closing anyway
+        }
+    }
+
+    /**
+     * Stops accepting connections and closes every open connection.
+     *
+     * @throws IOException if the server socket can't be closed
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        serverSocket.close();
+        for (Socket socket : connections) {
+            closeQuietly(socket);
+        }
+    }
+
+    /**
+     * Writes the output of a command, putting one more
+     * {@link #END_OF_RESPONSE} in front of every line that starts with it so
+     * that the output never holds the line that ends the response.
+     */
+    private static final class ResponseWriter extends FilterWriter {
+        /**
+         * Whether the next character starts a line.
+         */
+        private boolean lineStart = true;
+
+        /**
+         * Constructs a writer of responses to a connection.
+         *
+         * @param out the writer of the connection
+         */
+        private ResponseWriter(Writer out) {
+            super(out);
+        }
+
+        /**
+         * Writes a character.
+         *
+         * @param c the character
+         * @throws IOException if the connection can't be written
+         */
+        @Override
+        public void write(int c) throws IOException {
+            if (lineStart && c == END_OF_RESPONSE.charAt(0)) {
+                out.write(c);
+            }
+            out.write(c);
+            lineStart = c == '\n';
+        }
+
+        /**
+         * Writes part of an array of characters.
+         *
+         * @param chars  the characters
+         * @param offset the index of the first character to write
+         * @param length the number of characters to write
+         * @throws IOException if the connection can't be written
+         */
+        @Override
+        public void write(char[] chars, int offset, int length)
+                throws IOException {
+            write(new String(chars, offset, length), 0, length);
+        }
+
+        /**
+         * Writes part of a string, in runs between the lines that need one
+         * more {@link #END_OF_RESPONSE}.
+         *
+         * @param str    the string
+         * @param offset the index of the first character to write
+         * @param length the number of characters to write
+         * @throws IOException if the connection can't be written
+         */
+        @Override
+        public void write(String str, int offset, int length)
+                throws IOException {
+            final char marker = END_OF_RESPONSE.charAt(0);
+            final int end = offset + length;
+            int start = offset;
+            for (int index = offset; index < end; index++) {
+                char c = str.charAt(index);
+                if (lineStart && c == marker) {
+                    out.write(str, start, index - start);
+                    out.write(marker);
+                    start = index;
+                }
+                lineStart = c == '\n';
+            }
+            out.write(str, start, end - start);
+        }
+
+        /**
+         * Ends the response with the {@link #END_OF_RESPONSE} line, on a line
+         * of its own even if the output of the command didn't end one.
+         *
+         * @throws IOException if the connection can't be written
+         */
+        private void end() throws IOException {
+            if (!lineStart) { out.write('\n'); }
+            out.write(END_OF_RESPONSE);
+            out.write('\n');
+            lineStart = true;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package org.cs213.clinic.core;
+
+import org.cs213.clinic.cli.commands.Procedure;
+
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * This class represents a database that can be shared by several threads
+ * executing commands at once. Procedures that only read, like the Print*
+ * commands, run together under a shared lock, while procedures that change
+ * the database run alone under an exclusive lock. Commands take the lock once
+ * for their whole check-then-act sequence, so a slot can never be booked
+ * twice between the availability check and the booking. The lock is not
+ * reentrant: a procedure must not call read or write again.
+ *
+ * @author Elian Deogracia-Brito
+ * @author Tiara Clyde
+ */
+public class ConcurrentDatabase extends Database {
+    /**
+     * The lock guarding every container of the database.
+     */
+    private final StampedLock lock = new StampedLock();
+
+    /**
+     * Constructs a new concurrent database with the supported timeslots.
+     *
+     * @param timeslots the timeslots appointments can be booked in
+     */
+    public ConcurrentDatabase(TimeslotTable timeslots) {
+        super(timeslots);
+    }
+
+    /**
+     * Runs a procedure that only reads from the database, alongside any other
+     * readers but never alongside a writer.
+     *
+     * @param procedure the procedure to run
+     * @return the result of the procedure
+     */
+    @Override
+    public String read(Procedure procedure) {
+        long stamp = lock.readLock();
+        try {
+            return super.read(procedure);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Runs a procedure that changes the database while no other procedure
+     * runs, writing its changes to the journal before the lock is released.
+     * The journal is forced to the disk after the lock is released, so other
+     * procedures run meanwhile and writers waiting at the same time share one
+     * fsync.
+     *
+     * @param procedure the procedure to run
+     * @return the result of the procedure
+     */
+    @Override
+    public String write(Procedure procedure) {
+        String outstr;
+        Journal journal;
+        long commit = 0;
+        long stamp = lock.writeLock();
+        try {
+            outstr = runRecorded(procedure);
+            journal = getJournal();
+            if (journal != null) { commit = journal.commit(); }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        if (journal != null) { journal.sync(commit); }
+        return outstr;
+    }
+}
@@ -1,41 +1,93 @@
 package org.cs213.clinic.core;
 
-import org.cs213.clinic.util.CustomComparator;
+import org.cs213.clinic.cli.commands.Procedure;
 import org.cs213.clinic.util.List;
+import org.cs213.clinic.util.ListView;
+import org.cs213.clinic.util.Map;
+import org.cs213.clinic.util.OccupancyBitmap;
+import org.cs213.clinic.util.SkipList;
 import org.cs213.clinic.util.Sort;
 
+import java.util.Arrays;
+
 
 import static org.cs213.clinic.cli.commands.Command.EMPTY_OUTSTR;
+import static org.cs213.clinic.util.ContainerConstants.INDEX_NOT_FOUND;
 
 /**
  * This class represents a database that holds all the clinic's data. This
  * class provides methods to retrieve medical records, appointments and
  * timeslots, as well as to find the provider for a specific appointment
- * based on patient details.
+ * based on patient details. A Database is not thread-safe; commands run their
+ * work through {@link #read(Procedure)} and {@link #write(Procedure)} so that
+ * a {@link ConcurrentDatabase} can be shared by several threads instead.
  *
  * @author Elian Deogracia-Brito
  * @author Tiara Clyde
  */
 public class Database {
     /**
-     * The list of supported timeslots.
+     * The supported timeslots.
      */
-    private final List<Timeslot> timeslots;
+    private final TimeslotTable timeslots;
 
     /**
      * The patients associated with this database.
      */
     private final List<Patient> medicalRecord;
 
+    /**
+     * Index of the patients by their profile. When several patients share a
+     * profile the first one added is indexed, the one a scan of the medical
+     * record would find.
+     */
+    private final Map<Profile, Patient> patientIndex;
+
+    /**
+     * The id of every indexed patient, numbered from 0 in the order the
+     * patients were added. Archived visits refer to patients by these ids.
+     */
+    private final Map<Profile, Integer> patientIds;
+
+    /**
+     * The active appointments of every patient with appointments, by the
+     * patient's profile and in the order they were added.
+     */
+    private final Map<Profile, List<Appointment>> patientAppointments;
+
     /**
      * The list of providers associated with this database.
      */
     private final List<Provider> providers;
 
     /**
-     * Rotation index for technicians within this database.
+     * The providers in provider ordering ({@link Person#compareTo}), kept in
+     * order as providers are added.
      */
-    private int rotationIndex;
+    private final List<Provider> providerOrder;
+
+    /**
+     * The rotation of the technicians within this database.
+     */
+    private final TechnicianRing technicianRing;
+
+    /**
+     * The journal every change is recorded in, or null if the database is
+     * not persisted.
+     */
+    private Journal journal;
+
+    /**
+     * The archive billed visits are moved to, or null if visits are kept in
+     * the patients' ledgers.
+     */
+    private VisitArchive archive;
+
+    /**
+     * The charge of the archived visits of each patient, indexed by patient
+     * id, or null if it must be recomputed.
+     */
+    private int[] archivedCharges;
 
     /**
      * The list of appointments associated with this database.
@@ -43,23 +95,117 @@ public class Database {
     private final List<Appointment> appointments;
 
     /**
-     * Constructs database instance for a clinic.
+     * Index of the appointments by their date, timeslot and patient. Each key
+     * maps to the matching appointments in the order they were added.
      */
-    public Database() {
-        this.timeslots = new List<>();
+    private final Map<AppointmentKey, List<Appointment>> appointmentIndex;
+
+    /**
+     * The booked (date, timeslot) pairs of every provider with appointments.
+     */
+    private final Map<Provider, OccupancyBitmap> providerSchedules;
+
+    /**
+     * The booked (date, timeslot) pairs of every imaging room, indexed by the
+     * ordinal of the room's location and then of its Radiology.
+     */
+    private final OccupancyBitmap[][] roomSchedules;
+
+    /**
+     * The appointments kept sorted by every {@link AppointmentOrder}, indexed
+     * by the ordinal of the ordering.
+     */
+    private final SkipList<Appointment>[] orderedAppointments;
+
+    /**
+     * Constructs database instance for a clinic that books appointments in
+     * the given timeslots.
+     *
+     * @param timeslots the supported timeslots
+     */
+    @SuppressWarnings("unchecked")
+    public Database(TimeslotTable timeslots) {
+        this.timeslots = timeslots;
         this.medicalRecord = new List<>();
+        this.patientIndex = new Map<>();
+        this.patientIds = new Map<>();
+        this.patientAppointments = new Map<>();
         this.appointments = new List<>();
+        this.appointmentIndex = new Map<>();
+        this.providerSchedules = new Map<>();
+        this.roomSchedules = new OccupancyBitmap[Location.values().length]
+                [Radiology.values().length];
+        AppointmentOrder[] orders = AppointmentOrder.values();
+        this.orderedAppointments = (SkipList<Appointment>[])
+                new SkipList<?>[orders.length];
+        for (AppointmentOrder order : orders) {
+            orderedAppointments[order.ordinal()] = new SkipList<>(order);
+        }
         this.providers = new List<>();
-        this.rotationIndex = 0;
+        this.providerOrder = new List<>();
+        this.technicianRing = new TechnicianRing();
+    }
+
+    /**
+     * Runs a procedure that only reads from the database. The Database is
+     * used by a single thread, so the procedure simply runs.
+     *
+     * @param procedure the procedure to run
+     * @return the result of the procedure
+     */
+    public String read(Procedure procedure) {
+        return procedure.run();
+    }
+
+    /**
+     * Runs a procedure that changes the database, or that checks the database
+     * and then changes it based on what it found. The Database is used by a
+     * single thread, so the procedure simply runs, and then the changes it
+     * made are committed to the journal if there is one.
+     *
+     * @param procedure the procedure to run
+     * @return the result of the procedure
+     */
+    public String write(Procedure procedure) {
+        String outstr = runRecorded(procedure);
+        if (journal != null) { journal.sync(journal.commit()); }
+        return outstr;
+    }
+
+    /**
+     * Runs a procedure that changes the database. If the procedure fails,
+     * the records it added to the journal are rolled back, so that they are
+     * not committed with the next procedure.
+     *
+     * @param procedure the procedure to run
+     * @return the result of the procedure
+     */
+    String runRecorded(Procedure procedure) {
+        try {
+            return procedure.run();
+        } catch (RuntimeException | Error e) {
+            if (journal != null) { journal.rollback(); }
+            throw e;
+        }
+    }
+
+    /**
+     * Gets the journal every change to the database is recorded in.
+     *
+     * @return the journal, or null if changes are not recorded
+     */
+    Journal getJournal() {
+        return journal;
     }
 
     /**
-     * Adds timeslot instance into the database.
+     * Sets the journal every change to the database is recorded in. Each
+     * call to {@link #write(Procedure)} commits the changes it made.
      *
-     * @param timeslot timeslot to add
+     * @param journal the journal, or null to stop recording changes
      */
-    public void addTimeslot(Timeslot timeslot) {
-        timeslots.add(timeslot);
+    void setJournal(Journal journal) {
+        this.journal = journal;
     }
 
     /**
@@ -69,13 +215,7 @@ public class Database {
      * @return the timeslot object
      */
     public Timeslot getTimeslot(int id) {
-        int iter = Timeslot.START_ID;
-        for (Timeslot timeslot : timeslots) {
-            if (iter++ == id) {
-                return timeslot;
-            }
-        }
-        return null;
+        return timeslots.get(id);
     }
 
     /**
@@ -86,11 +226,7 @@ public class Database {
      * @return the timeslot object
      */
     public Timeslot getTimeslot(String id) {
-        try {
-            return getTimeslot(Integer.parseInt(id));
-        } catch (NumberFormatException e) {
-            return null;
-        }
+        return timeslots.get(id);
     }
 
     /**
@@ -100,12 +236,22 @@ public class Database {
      * @return the timeslot id
      */
     public String getTimeslotId(Timeslot timeslot) {
-        for (int i = 0; i < timeslots.size(); i++) {
-            if (timeslots.get(i).equals(timeslot)) {
-                return String.valueOf(i + 1);
-            }
+        return timeslots.getId(timeslot);
+    }
+
+    /**
+     * Gets the position of the timeslot among the timeslots of a day, which
+     * addresses the timeslot within the provider schedules.
+     *
+     * @param timeslot the timeslot to get the position of
+     * @return the position of the timeslot starting at 0
+     */
+    private int slotIndex(Timeslot timeslot) {
+        int index = timeslots.indexOf(timeslot);
+        if (index < 0) {
+            throw new IllegalArgumentException("Unknown timeslot: " + timeslot);
         }
-        return String.valueOf(Timeslot.NONE_ID);
+        return index;
     }
 
     /**
@@ -121,13 +267,9 @@ public class Database {
     /**
      * Gets available timeslots from the database.
      *
-     * @return list of timeslots
+     * @return the timeslots in order of their id
      */
-    public List<Timeslot> getTimeslots() {
-        List<Timeslot> timeslots = new List<>();
-        for (Timeslot timeslot : this.timeslots) {
-            timeslots.add(timeslot);
-        }
+    public TimeslotTable getTimeslots() {
         return timeslots;
     }
 
@@ -146,7 +288,8 @@ public class Database {
     }
 
     /**
-     * Gets patient from database through attributes.
+     * Gets patient from database through attributes. This is a constant time
+     * lookup through the patient index.
      *
      * @param fnameToken first name of patient
      * @param lnameToken last name of patient
@@ -154,12 +297,17 @@ public class Database {
      * @return the patient found or null if not found
      */
     public Patient getPatient(String fnameToken, String lnameToken, String dobToken) {
-        for (Patient patient : medicalRecord) {
-            if (patient.equals(fnameToken, lnameToken, dobToken)) {
-                return patient;
-            }
-        }
-        return null;
+        return getPatient(new Profile(fnameToken, lnameToken, dobToken));
+    }
+
+    /**
+     * Gets the patient with the profile from the medical record.
+     *
+     * @param profile the profile of the patient
+     * @return the patient, or null if the patient isn't in the medical record
+     */
+    public Patient getPatient(Profile profile) {
+        return patientIndex.get(profile);
     }
 
     /**
@@ -168,7 +316,12 @@ public class Database {
      * @param patient patient to add
      */
     public void addPatient(Patient patient) {
+        if (journal != null) { journal.patientAdded(patient); }
         medicalRecord.add(patient);
+        if (!patientIndex.containsKey(patient.getProfile())) {
+            patientIndex.put(patient.getProfile(), patient);
+            patientIds.put(patient.getProfile(), patientIds.size());
+        }
     }
 
     /**
@@ -190,46 +343,55 @@ public class Database {
     }
 
     /**
-     * Gets patients from the database as a list.
-     * @return patients the list of patients
+     * Gets patients from the database as a read-only snapshot, which shares
+     * the medical record's storage instead of copying it.
+     * @return patients read-only view of the patients
      */
-    public List<Patient> getPatients() {
-        List<Patient> patients = new List<>();
-        for (Patient patient : medicalRecord) {
-            patients.add(patient);
-        }
-        return patients;
+    public ListView<Patient> getPatients() {
+        return medicalRecord.view();
     }
 
     /**
-     * Sorts patients list inside the database through custom comparator.
+     * Adds provider instance into the database.
      *
-     * @param comparator sorting methodology
+     * @param provider provider to add
      */
-    public void sortPatients(CustomComparator<Patient> comparator) {
-        Sort.bubbleSort(medicalRecord, comparator);
+    public void addProvider(Provider provider) {
+        if (provider instanceof Technician technician) {
+            technicianRing.add(technician, providers.isEmpty());
+        }
+        providers.add(provider);
+
+        // Append, then shift the greater providers up past the new one
+        providerOrder.add(provider);
+        int index = providerOrder.size() - 1;
+        while (index > 0 &&
+                providerOrder.get(index - 1).compareTo(provider) > 0) {
+            providerOrder.set(providerOrder.get(index - 1), index);
+            index--;
+        }
+        if (index < providerOrder.size() - 1) {
+            providerOrder.set(provider, index);
+        }
     }
 
     /**
-     * Adds provider instance into the database.
+     * Gets all providers in the database in provider ordering. Providers
+     * that compare equal are in the order they were added.
      *
-     * @param provider provider to add
+     * @return read-only view of the providers in order
      */
-    public void addProvider(Provider provider) {
-        providers.add(provider);
+    public ListView<Provider> getProvidersInOrder() {
+        return providerOrder.view();
     }
 
     /**
      * Gets all providers in the database.
      *
-     * @return a list copy of the providers
+     * @return read-only view of the providers
      */
-    public List<Provider> getProviders() {
-        List<Provider> providers = new List<>();
-        for (Provider provider : this.providers) {
-            providers.add(provider);
-        }
-        return providers;
+    public ListView<Provider> getProviders() {
+        return providers.view();
     }
 
     /**
@@ -243,7 +405,7 @@ public class Database {
         for (int i = 0; i < providers.size(); i++) {
             array[i] = providers.get(i);
         }
-        Sort.bubbleSort(array, (a, b) -> a.getProfile().getLname()
+        Sort.mergeSort(array, (a, b) -> a.getProfile().getLname()
             .compareTo(b.getProfile().getLname()));
         StringBuilder builder = new StringBuilder();
         for (Provider provider : array) {
@@ -260,14 +422,14 @@ public class Database {
      * @return all technicians in rotation
      */
     public String getRotationAsString() {
-        if (providers.isEmpty()) {
+        Technician[] technicians = technicianRing.toArray();
+        if (technicians.length == 0) {
             return EMPTY_OUTSTR;
         }
 
         final String delimiter = " --> ";
         StringBuilder builder = new StringBuilder();
-        alignRotation();
-        for (Technician technician : getTechnicians()) {
+        for (Technician technician : technicians) {
             if (!builder.isEmpty()) {
                 builder.append(delimiter);
             }
@@ -317,102 +479,234 @@ public class Database {
         return false;
     }
 
-    /**
-     * Sets the rotationIndex to the correct position.
-     *
-     * @return if the rotation alignment as successful
-     */
-    private boolean alignRotation() {
-        if (providers.isEmpty()) { return false; }
-        final int end = rotationIndex;
-        int index = rotationIndex;
-        do {
-            Provider provider = providers.get(index);
-            if (provider instanceof Technician) {
-                rotationIndex = index;
-                return true;
-            }
-            index = (index - 1 + providers.size()) % providers.size();
-        } while (index != end);
-
-        return false;
-    }
-
     /**
      * Gets the next technician in the order.
      *
      * @return the next technician in rotation
      */
     public Technician nextTechnician() {
-        if (!alignRotation()) { return null; }
-        final int end = rotationIndex;
-        int index = rotationIndex;
-        do {
-            index = (index - 1 + providers.size()) % providers.size();
-            Provider provider = providers.get(index);
-            if (!(provider instanceof Technician)) { continue; }
-            rotationIndex = index;
-            return (Technician) provider;
-        } while (index != end);
-
-        return (Technician) providers.get(rotationIndex);
+        if (journal != null) { journal.technicianAdvanced(); }
+        return technicianRing.advance();
     }
 
     /**
-     * Gets the current technician at the internal rotation index.
+     * Gets the current technician of the rotation.
      *
-     * @return the technician at the rotation index
+     * @return the current technician, or null if there are none
      */
     public Technician getTechnician() {
-        if (!alignRotation()) { return null; }
-        return (Technician) providers.get(rotationIndex);
+        return technicianRing.current();
     }
 
     /**
-     * Gets all technicians relative to the rotation index.
+     * Gets all technicians in rotation order, starting from the current one.
      *
-     * @return list of technicians relative to ration index
+     * @return list of technicians in rotation order
      */
     public List<Technician> getTechnicians() {
-        Technician end = getTechnician();
-        Technician technician = end;
         List<Technician> technicians = new List<>();
-        do {
+        for (Technician technician : technicianRing.toArray()) {
             technicians.add(technician);
-            technician = nextTechnician();
-        } while (technician != end);
+        }
         return technicians;
     }
 
     /**
-     * Checks if imaging room is in use at a specific location and timeslot.
+     * Checks if imaging room is in use at a specific location, date and
+     * timeslot.
      *
      * @param location location of room
+     * @param date the date of the appointment
      * @param timeslot the time of the appoinment
      * @param room room to check use of
      * @return if room is in use using boolean
      */
-    public boolean roomInUse(Location location, Timeslot timeslot, Radiology room) {
-        for (Appointment appointment : appointments) {
-            if (!(appointment instanceof Imaging imaging)) { continue; }
-            Technician technician = (Technician) appointment.getProvider();
-            if (technician.getLocation().equals(location) &&
-                    imaging.getTimeslot().equals(timeslot) &&
-                    imaging.getRoom() == room) {
-                return true;
-            }
+    public boolean roomInUse(Location location, Date date, Timeslot timeslot,
+                             Radiology room) {
+        OccupancyBitmap schedule =
+                roomSchedules[location.ordinal()][room.ordinal()];
+        if (schedule == null) return false;
+        return schedule.get(date.toEpochDay(), slotIndex(timeslot));
+    }
+
+    /**
+     * Gets the bookings of the room an imaging appointment takes place in.
+     *
+     * @param imaging the imaging appointment
+     * @param create whether to create the bookings if the room has none
+     * @return the bookings of the room, or null if there are none and create
+     *         is false
+     */
+    private OccupancyBitmap getRoomSchedule(Imaging imaging, boolean create) {
+        Location location = ((Technician) imaging.getProvider()).getLocation();
+        OccupancyBitmap[] rooms = roomSchedules[location.ordinal()];
+        int room = imaging.getRoom().ordinal();
+        if (rooms[room] == null && create) {
+            rooms[room] = new OccupancyBitmap(timeslots.size());
         }
-        return false;
+        return rooms[room];
     }
 
     /**
      * Adds an appointment to the database.
      *
      * @param appointment the appointment instance to add
+     * @throws IllegalArgumentException if the appointment is null or at a
+     *                                  timeslot the clinic doesn't have, in
+     *                                  which case nothing is added
      */
     public void addAppointment(Appointment appointment) {
         if (appointment == null) throw new IllegalArgumentException();
+        // Fail on an unknown timeslot before anything changes
+        final int day = appointment.getDate().toEpochDay();
+        final int slot = slotIndex(appointment.getTimeslot());
+        OccupancyBitmap room = appointment instanceof Imaging imaging
+                ? getRoomSchedule(imaging, true) : null;
+        if (journal != null) { journal.appointmentAdded(appointment); }
         appointments.add(appointment);
+        AppointmentKey key = new AppointmentKey(appointment);
+        List<Appointment> matches = appointmentIndex.get(key);
+        if (matches == null) {
+            matches = new List<>();
+            appointmentIndex.put(key, matches);
+        }
+        matches.add(appointment);
+
+        Provider provider = appointment.getProvider();
+        OccupancyBitmap schedule = providerSchedules.get(provider);
+        if (schedule == null) {
+            schedule = new OccupancyBitmap(timeslots.size());
+            providerSchedules.put(provider, schedule);
+        }
+        schedule.set(day, slot);
+
+        if (room != null) {
+            room.set(day, slot);
+        }
+
+        Profile patient = appointment.getPatient().getProfile();
+        List<Appointment> active = patientAppointments.get(patient);
+        if (active == null) {
+            active = new List<>();
+            patientAppointments.put(patient, active);
+        }
+        active.add(appointment);
+
+        for (SkipList<Appointment> ordered : orderedAppointments) {
+            ordered.add(appointment);
+        }
+    }
+
+    /**
+     * Books a set of appointments all together or not at all, for example
+     * the visits of a patient's care plan. Every appointment is checked
+     * against the booked appointments and against the others in the set: its
+     * provider and its patient must be free at its date and timeslot, and so
+     * must the room of an imaging appointment. Only when none conflict are
+     * they all booked, in order, as one change to the database.
+     *
+     * <p>The checks and the bookings run within {@link #write(Procedure)},
+     * so they are safe on a {@link ConcurrentDatabase} and commit to the
+     * journal as one group. The call must not be made from within another
+     * procedure.</p>
+     *
+     * @param batch the appointments to book
+     * @return the index of the first appointment that conflicts, in which
+     *         case none were booked, or
+     *         {@link org.cs213.clinic.util.ContainerConstants#INDEX_NOT_FOUND}
+     *         if all were booked
+     * @throws IllegalArgumentException if an appointment is null or at a
+     *                                  timeslot the clinic doesn't have, in
+     *                                  which case none were booked
+     */
+    public int bookAll(List<Appointment> batch) {
+        final int[] conflict = { INDEX_NOT_FOUND };
+        write(() -> {
+            conflict[0] = book(batch);
+            return EMPTY_OUTSTR;
+        });
+        return conflict[0];
+    }
+
+    /**
+     * Books a set of appointments all together or not at all, while the
+     * database is locked for writing.
+     *
+     * @param batch the appointments to book
+     * @return the index of the first appointment that conflicts, or
+     *         {@link org.cs213.clinic.util.ContainerConstants#INDEX_NOT_FOUND}
+     *         if all were booked
+     */
+    private int book(List<Appointment> batch) {
+        for (int index = 0; index < batch.size(); index++) {
+            Appointment appointment = batch.get(index);
+            if (appointment == null) throw new IllegalArgumentException();
+            slotIndex(appointment.getTimeslot()); // Rejects unknown timeslots
+            if (isBooked(appointment)) { return index; }
+            for (int earlier = 0; earlier < index; earlier++) {
+                if (overlaps(appointment, batch.get(earlier))) {
+                    return index;
+                }
+            }
+        }
+        for (Appointment appointment : batch) {
+            addAppointment(appointment);
+        }
+        return INDEX_NOT_FOUND;
+    }
+
+    /**
+     * Checks if the provider, the patient or the imaging room of an
+     * appointment is already booked at its date and timeslot.
+     *
+     * @param appointment the appointment to check
+     * @return true if the appointment conflicts with a booked appointment
+     */
+    private boolean isBooked(Appointment appointment) {
+        Date date = appointment.getDate();
+        Timeslot timeslot = appointment.getTimeslot();
+        if (!providerAvailable(appointment.getProvider(), date, timeslot)) {
+            return true;
+        }
+        if (appointment instanceof Imaging imaging) {
+            OccupancyBitmap room = getRoomSchedule(imaging, false);
+            if (room != null && room.get(date.toEpochDay(),
+                    slotIndex(timeslot))) {
+                return true;
+            }
+        }
+        List<Appointment> active = patientAppointments.get(
+                appointment.getPatient().getProfile());
+        if (active != null) {
+            for (Appointment booked : active) {
+                if (booked.conflicts(date, timeslot)) { return true; }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks if two appointments at the same date and timeslot would need
+     * the same provider, patient or imaging room.
+     *
+     * @param first  an appointment
+     * @param second another appointment
+     * @return true if the appointments can't both be booked
+     */
+    private static boolean overlaps(Appointment first, Appointment second) {
+        if (!first.conflicts(second.getDate(), second.getTimeslot())) {
+            return false;
+        }
+        if (first.getProvider().equals(second.getProvider()) ||
+                first.getPatient().getProfile().equals(
+                        second.getPatient().getProfile())) {
+            return true;
+        }
+        return first instanceof Imaging firstImaging &&
+                second instanceof Imaging secondImaging &&
+                firstImaging.getRoom() == secondImaging.getRoom() &&
+                firstImaging.getProvider().getLocation() ==
+                        secondImaging.getProvider().getLocation();
     }
 
     /**
@@ -422,7 +716,44 @@ public class Database {
      */
     public void removeAppointment(Appointment appointment) {
         if (appointment == null) return;
+        if (journal != null) { journal.appointmentRemoved(appointment); }
         appointments.remove(appointment);
+        AppointmentKey key = new AppointmentKey(appointment);
+        List<Appointment> matches = appointmentIndex.get(key);
+        if (matches != null) {
+            matches.remove(appointment);
+            if (matches.isEmpty()) {
+                appointmentIndex.remove(key);
+            }
+        }
+
+        OccupancyBitmap schedule =
+                providerSchedules.get(appointment.getProvider());
+        if (schedule != null) {
+            schedule.clear(appointment.getDate().toEpochDay(),
+                    slotIndex(appointment.getTimeslot()));
+        }
+
+        if (appointment instanceof Imaging imaging) {
+            OccupancyBitmap room = getRoomSchedule(imaging, false);
+            if (room != null) {
+                room.clear(appointment.getDate().toEpochDay(),
+                        slotIndex(appointment.getTimeslot()));
+            }
+        }
+
+        Profile patient = appointment.getPatient().getProfile();
+        List<Appointment> active = patientAppointments.get(patient);
+        if (active != null) {
+            active.remove(appointment);
+            if (active.isEmpty()) {
+                patientAppointments.remove(patient);
+            }
+        }
+
+        for (SkipList<Appointment> ordered : orderedAppointments) {
+            ordered.remove(appointment);
+        }
     }
 
     /**
@@ -435,12 +766,13 @@ public class Database {
      */
     public void removeAppointment(Date date, Timeslot timeslot, Person person) {
         Appointment appointment = getAppointment(date, timeslot, person);
-        if (appointment == null) return;
-        appointments.remove(appointment);
+        removeAppointment(appointment);
     }
 
     /**
-     * Gets appointment given the date, timeslot and patient attributes.
+     * Gets appointment given the date, timeslot and patient attributes. The
+     * patient's names are matched ignoring case. This is a constant time
+     * lookup through the appointment index.
      *
      * @param date date to check for
      * @param timeslot timeslot to check for
@@ -449,39 +781,28 @@ public class Database {
      */
     public Appointment getAppointment(Date date, Timeslot timeslot,
                                       Person person) {
-        for (Appointment appointment : appointments) {
-            Profile profile = appointment.getPatient().getProfile();
-            Profile check = person.getProfile();
-            if (appointment.getDate().equals(date) &&
-                    appointment.getTimeslot().equals(timeslot) &&
-                    check.getFname().equalsIgnoreCase(profile.getFname()) &&
-                    check.getLname().equalsIgnoreCase(profile.getLname()) &&
-                    check.getDob().equals(profile.getDob())) {
-                return appointment;
-            }
-        }
-        return null;
+        if (date == null || timeslot == null) return null;
+        List<Appointment> matches = appointmentIndex.get(
+                new AppointmentKey(date, timeslot, person.getProfile()));
+        return matches == null ? null : matches.get(0);
     }
 
     /**
      * Returns a list of appointments that correspond with the following
-     * profile attribute tokens.
+     * profile attribute tokens. Only the patient's own appointments are
+     * visited, rather than the whole calendar.
      *
      * @param fnameToken first name
      * @param lnameToken last name
      * @param dobToken   date of birth
-     * @return list of appointments containing profile
+     * @return read-only view of the appointments containing profile
      */
-    public List<Appointment> getAppointments(
+    public ListView<Appointment> getAppointments(
             String fnameToken, String lnameToken, String dobToken) {
-        List<Appointment> found = new List<>();
-        for (Appointment appointment : appointments) {
-            if (appointment.getPatient()
-                    .equals(fnameToken, lnameToken, dobToken)) {
-                found.add(appointment);
-            }
-        }
-        return found;
+        List<Appointment> active = patientAppointments.get(
+                new Profile(fnameToken, lnameToken, dobToken));
+        if (active == null) { return ListView.empty(); }
+        return active.view();
     }
 
     /**
@@ -497,50 +818,191 @@ public class Database {
     }
 
     /**
-     * Gets a list of appointments containing the provider mentioned.
+     * Checks if the provider has no appointment at the date and timeslot.
+     * This is a single probe of the provider's schedule.
      *
-     * @param provider the provider to match appointments to
-     * @return the list of appointments containing provider
+     * @param provider the provider to check
+     * @param date the date to check against
+     * @param timeslot the timeslot to check against
+     * @return true if the provider is free at the date and timeslot
      */
-    public List<Appointment> getAppointments(Provider provider) {
-        List<Appointment> found = new List<>();
+    public boolean providerAvailable(Provider provider, Date date,
+                                     Timeslot timeslot) {
+        OccupancyBitmap schedule = providerSchedules.get(provider);
+        if (schedule == null) return true;
+        return !schedule.get(date.toEpochDay(), slotIndex(timeslot));
+    }
+
+    /**
+     * Gets the number of active appointments of a provider. The count is
+     * kept by the provider's schedule, so no appointment is visited.
+     *
+     * @param provider the provider to count appointments of
+     * @return the number of appointments with the provider
+     */
+    public int getAppointmentCount(Provider provider) {
+        OccupancyBitmap schedule = providerSchedules.get(provider);
+        return schedule == null ? 0 : schedule.cardinality();
+    }
+
+    /**
+     * Gets the number of active appointments.
+     *
+     * @return the number of appointments
+     */
+    public int getAppointmentCount() {
+        return appointments.size();
+    }
+
+    /**
+     * Gets the full list of appointments as a read-only snapshot, which
+     * shares the database's storage instead of copying it.
+     *
+     * @return read-only view of the full list of appointments
+     */
+    public ListView<Appointment> getAppointments() {
+        return appointments.view();
+    }
+
+    /**
+     * Gets the appointments in the requested ordering. The appointments are
+     * kept in every ordering as they are added and removed, so no sorting
+     * takes place.
+     *
+     * @param order the ordering of the appointments
+     * @return the appointments in order
+     */
+    public Iterable<Appointment> getAppointments(AppointmentOrder order) {
+        return orderedAppointments[order.ordinal()];
+    }
+
+    /**
+     * Bills every active appointment: each appointment becomes a visit of its
+     * patient in the medical record, in a single pass over the appointments,
+     * and then the active appointments are cleared.
+     */
+    public void billActiveAppointments() {
+        if (journal != null) { journal.appointmentsBilled(); }
         for (Appointment appointment : appointments) {
-            if (appointment.getProvider().equals(provider)) {
-                found.add(appointment);
-            }
+            Patient patient = getPatient(appointment.getPatient().getProfile());
+            if (patient != null) { addVisit(patient, appointment); }
         }
-        return found;
+        clearActiveAppointments();
     }
 
     /**
-     * Gets the full list of appointments.
+     * Adds a visit of a patient in the medical record, to the archive if
+     * there is one and otherwise to the patient's ledger.
      *
-     * @return the full list of appointments
+     * @param patient     the patient
+     * @param appointment the appointment that became a visit
      */
-    public List<Appointment> getAppointments() {
-        List<Appointment> appointments = new List<>();
-        for (Appointment appointment : this.appointments) {
-            appointments.add(appointment);
+    void addVisit(Patient patient, Appointment appointment) {
+        if (archive == null) {
+            patient.addVisit(appointment);
+            return;
         }
-        return appointments;
+        archive.add(appointment.getDate().toEpochDay(),
+                slotIndex(appointment.getTimeslot()),
+                patientIds.get(patient.getProfile()),
+                indexOfProvider(appointment.getProvider()),
+                appointment instanceof Imaging imaging
+                        ? (byte) imaging.getRoom().ordinal()
+                        : VisitArchive.NO_ROOM);
+        archivedCharges = null;
     }
 
     /**
-     * Sorts appointments through given custom comparator.
+     * Sets the archive billed visits are moved to from now on. Visits
+     * billed before stay in the patients' ledgers.
      *
-     * @param comparator sorting methodology
+     * @param archive the archive, or null to keep visits in the ledgers
      */
-    public void sortAppointments(CustomComparator<Appointment> comparator) {
-        Sort.bubbleSort(appointments, comparator);
+    public void setArchive(VisitArchive archive) {
+        this.archive = archive;
+        this.archivedCharges = null;
+    }
+
+    /**
+     * Gets the archive billed visits are moved to.
+     *
+     * @return the archive, or null if visits are kept in the ledgers
+     */
+    VisitArchive getArchive() {
+        return archive;
+    }
+
+    /**
+     * Gets the total charge of the visits of a patient, both those in the
+     * patient's ledger and those archived. The archived charges of every
+     * patient are added up in one scan of the archive, which is repeated
+     * only once more visits are archived.
+     *
+     * @param patient the patient
+     * @return the total charge of the patient's visits
+     */
+    public int getCharge(Patient patient) {
+        if (archive == null) { return patient.charge(); }
+        if (archivedCharges == null) {
+            int[] rates = new int[providers.size()];
+            for (int index = 0; index < rates.length; index++) {
+                rates[index] = providers.get(index).rate();
+            }
+            archivedCharges = new int[patientIds.size()];
+            archive.sumChargesByPatient(rates, archivedCharges);
+        }
+        Integer id = patientIds.get(patient.getProfile());
+        boolean archived = id != null && id < archivedCharges.length &&
+                patientIndex.get(patient.getProfile()) == patient;
+        return patient.charge() + (archived ? archivedCharges[id] : 0);
+    }
+
+    /**
+     * Gets the id of a patient, which archived visits refer to the patient
+     * by.
+     *
+     * @param profile the profile of the patient
+     * @return the id of the patient, or null if the patient isn't in the
+     *         medical record
+     */
+    Integer getPatientId(Profile profile) {
+        return patientIds.get(profile);
+    }
+
+    /**
+     * Gets the index of a provider in the order the providers were added.
+     *
+     * @param provider the provider
+     * @return the index of the provider, or
+     *         {@link org.cs213.clinic.util.ContainerConstants#INDEX_NOT_FOUND}
+     */
+    int indexOfProvider(Provider provider) {
+        return providers.indexOf(provider);
+    }
+
+    /**
+     * Gets a provider by its index in the order the providers were added.
+     *
+     * @param index the index of the provider
+     * @return the provider
+     */
+    Provider getProvider(int index) {
+        return providers.get(index);
     }
 
     /**
      * Clears active appointments from the database.
      */
     public void clearActiveAppointments() {
-        final int end = appointments.size() - 1;
-        for (int index = end; index >= 0; index--) {
-            appointments.remove(appointments.get(index));
+        appointments.clear();
+        appointmentIndex.clear();
+        providerSchedules.clear();
+        for (OccupancyBitmap[] rooms : roomSchedules) {
+            Arrays.fill(rooms, null);
+        }
+        patientAppointments.clear();
+        for (SkipList<Appointment> ordered : orderedAppointments) {
+            ordered.clear();
         }
     }
 }
@@ -98,6 +98,18 @@ public class Date implements Comparable<Date> {
      */
     private int day;
 
+    /**
+     * The number of days from January 1, 1970 to the date, computed once so
+     * that dates compare and hash as a single int.
+     */
+    private final int epochDay;
+
+    /**
+     * The string representation of the date, or null until it is first
+     * needed. Dates never change, so it is formatted at most once.
+     */
+    private String rendering;
+
     /**
      * Construct a Date object with the current date. The time is set to
      * 00:00:00.
@@ -120,6 +132,7 @@ public class Date implements Comparable<Date> {
         this.year = year;
         this.month = month;
         this.day = day;
+        this.epochDay = toEpochDay(year, month, day);
     }
 
     /**
@@ -227,6 +240,40 @@ public class Date implements Comparable<Date> {
                 (year % CENTENNIAL != 0 || year % QUATERCENTENNIAL == 0);
     }
 
+    /**
+     * Get the number of days from January 1, 1970 to the date. Dates before
+     * then are negative. The date must be valid. Consecutive calendar dates
+     * always map to consecutive numbers, which makes this useful for
+     * addressing days directly.
+     *
+     * @return the number of days since January 1, 1970
+     */
+    public int toEpochDay() {
+        return epochDay;
+    }
+
+    /**
+     * Get the number of days from January 1, 1970 to the given year, month
+     * and day. Valid dates map to distinct numbers in calendar order.
+     *
+     * @param year  the year
+     * @param month the month
+     * @param day   the day
+     * @return the number of days since January 1, 1970
+     */
+    private static int toEpochDay(int year, int month, int day) {
+        final int daysPerEra = 146097, yearsPerEra = 400, epochOffset = 719468;
+        // Count years from March so that leap days fall at the end of a year
+        int y = month <= FEBRUARY ? year - 1 : year;
+        int era = Math.floorDiv(y, yearsPerEra);
+        int yearOfEra = y - era * yearsPerEra;
+        int monthFromMarch = Math.floorMod(month + 9, 12);
+        int dayOfYear = (153 * monthFromMarch + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / QUADRENNIAL -
+                yearOfEra / CENTENNIAL + dayOfYear;
+        return era * daysPerEra + dayOfEra - epochOffset;
+    }
+
     /**
      * Check if the date is a weekend (Saturday or Sunday). The date must be
      * valid. This uses the Calendar class to determine the day of the week.
@@ -256,6 +303,17 @@ public class Date implements Comparable<Date> {
         return false;
     }
 
+    /**
+     * Get the hash code of the date as its epoch day. Equal dates always
+     * share the same hash code.
+     *
+     * @return the hash code of the date
+     */
+    @Override
+    public int hashCode() {
+        return epochDay;
+    }
+
     /**
      * Get the string representation of the date in the format "MM/DD/YYYY".
      * 
@@ -263,11 +321,26 @@ public class Date implements Comparable<Date> {
      */
     @Override
     public String toString() {
-        return String.format("%d/%d/%d", month, day, year);
+        String cached = rendering;
+        if (cached == null) {
+            cached = String.format("%d/%d/%d", month, day, year);
+            rendering = cached;
+        }
+        return cached;
     }
 
     /**
-     * Compare two Date objects based on the year, month, and day.
+     * Appends the string representation of the date to a builder.
+     *
+     * @param builder the builder to append to
+     */
+    public void appendTo(StringBuilder builder) {
+        builder.append(toString());
+    }
+
+    /**
+     * Compare two Date objects by their epoch day, which orders valid dates
+     * the same as comparing the year, month, and day in turn.
      * 
      * @param date the Date object to compare
      * @return 1 if this Date object is greater than other, -1 if smaller, 0 if
@@ -275,22 +348,7 @@ public class Date implements Comparable<Date> {
      */
     @Override
     public int compareTo(Date date) {
-        if (this.year > date.year) {
-            return 1;
-        } else if (this.year < date.year) {
-            return -1;
-        }
-        if (this.month > date.month) {
-            return 1;
-        } else if (this.month < date.month) {
-            return -1;
-        }
-        if (this.day > date.day) {
-            return 1;
-        } else if (this.day < date.day) {
-            return -1;
-        }
-        return 0;
+        return Integer.compare(this.epochDay, date.epochDay);
     }
 
     /**
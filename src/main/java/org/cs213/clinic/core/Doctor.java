@@ -56,6 +56,7 @@ public class Doctor extends Provider {
      */
     public void setSpecialty(Specialty specialty) {
         this.specialty = specialty;
+        invalidateRendering();
     }
 
     /**
@@ -74,6 +75,7 @@ public class Doctor extends Provider {
      */
     public void setNpi(String npi) {
         this.npi = npi;
+        invalidateRendering();
     }
 
     /**
@@ -87,12 +89,12 @@ public class Doctor extends Provider {
     }
 
     /**
-     * Gets the string representation of a doctor's information.
+     * Formats the string representation of a doctor's information.
      *
      * @return doctor's information
      */
     @Override
-    public String toString() {
+    protected String render() {
         final String doctorInfoFormat = "[%s, %s][%s, #%s]";
         return String.format(doctorInfoFormat, profile, getLocation(),
                 specialty.name(), getNpi());
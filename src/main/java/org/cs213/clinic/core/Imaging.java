@@ -47,13 +47,14 @@ public class Imaging extends Appointment {
    }
 
    /**
-    * Gets string representation of the imaging appointment.
+    * Appends the string representation of the imaging appointment, with the
+    * room in brackets after the appointment, to a builder.
     *
-    * @return string version of imaging
+    * @param builder the builder to append to
     */
    @Override
-   public String toString() {
-      final String boxFormat = "[%s]";
-      return super.toString() + String.format(boxFormat, room);
+   public void appendTo(StringBuilder builder) {
+      super.appendTo(builder);
+      builder.append('[').append(room).append(']');
    }
 }
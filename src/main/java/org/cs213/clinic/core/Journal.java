@@ -0,0 +1,1051 @@
+package org.cs213.clinic.core;
+
+import org.cs213.clinic.util.List;
+import org.cs213.clinic.util.ListView;
+import org.cs213.clinic.util.Map;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+/**
+ * The Journal class makes a Database durable. Every change to the database
+ * (a patient added, an appointment booked or canceled, the appointments
+ * billed, the technician rotation advanced) is appended to a binary journal
+ * file as a record, and {@link Database#write} commits the records of each
+ * command. The records of a command are written to the file when it
+ * commits, so they survive the process exiting, and are forced to the disk
+ * with one fsync once every {@code syncEvery} commits. An operating system
+ * crash loses at most the commands committed since the last fsync. The
+ * fsync runs after the database is unlocked, and commands that wait for it
+ * at the same time share one: the first forces the file for every command
+ * written so far. The records of a command end with a
+ * commit record, and recovery only applies the records of commands whose
+ * commit record made it to the disk, so each command, for example a
+ * {@link Database#bookAll} of several appointments, is recovered whole or
+ * not at all.
+ *
+ * <p>Once the journal holds {@code snapshotEvery} records, the whole state of
+ * the database is written to a compact snapshot and a new, empty journal is
+ * started, so recovery never replays more than that many records. Journals
+ * are numbered by generation; the snapshot names the generation of the
+ * journal that follows it. Each record carries a CRC32, and recovery stops
+ * at the first record that is torn or corrupt and truncates it.</p>
+ *
+ * <p>Providers are recorded by their position in the providers file, so the
+ * same providers must be loaded before the journal is opened.</p>
+ *
+ * @author Elian Deogracia-Brito
+ * @author Tiara Clyde
+ */
+public class Journal implements AutoCloseable {
+    /**
+     * Number of commits per fsync unless told otherwise; every command is
+     * forced to the disk.
+     */
+    public static final int DEFAULT_SYNC_EVERY = 1;
+
+    /**
+     * Number of records after which a snapshot is taken unless told
+     * otherwise.
+     */
+    public static final int DEFAULT_SNAPSHOT_EVERY = 1 << 20;
+
+    /**
+     * Name of the snapshot file.
+     */
+    private static final String SNAPSHOT_FILE = "snapshot.bin";
+
+    /**
+     * Name of the snapshot file while it is being written.
+     */
+    private static final String SNAPSHOT_TEMP_FILE = "snapshot.tmp";
+
+    /**
+     * Format of the name of a journal file of a generation.
+     */
+    private static final String JOURNAL_FILE_FORMAT = "journal-%d.bin";
+
+    /**
+     * Identifies journal files.
+     */
+    private static final int JOURNAL_MAGIC = 0x434a524e;
+
+    /**
+     * Identifies snapshot files.
+     */
+    private static final int SNAPSHOT_MAGIC = 0x43534e50;
+
+    /**
+     * Version of the journal and snapshot formats.
+     */
+    private static final int FORMAT_VERSION = 3;
+
+    /**
+     * Size of the header of a journal file: magic, version, generation and
+     * provider count.
+     */
+    private static final int JOURNAL_HEADER_BYTES = 4 + 4 + 8 + 4;
+
+    /**
+     * Size of the length and checksum that frame every record.
+     */
+    private static final int FRAME_BYTES = 4 + 4;
+
+    /**
+     * Largest payload of a record, which bounds what recovery will read.
+     */
+    private static final int MAX_RECORD_BYTES = 1 << 16;
+
+    /**
+     * Size of the buffer of records waiting to be written.
+     */
+    private static final int BUFFER_BYTES = 1 << 16;
+
+    /**
+     * Returned by a commit that needs no fsync.
+     */
+    private static final long NO_SYNC = 0;
+
+    /**
+     * Marks an appointment with no imaging room.
+     */
+    private static final byte NO_ROOM = -1;
+
+    /**
+     * Marks a snapshot with no current technician.
+     */
+    private static final int NO_TECHNICIAN = -1;
+
+    /** Record of a patient added to the medical record. */
+    private static final byte PATIENT_ADDED = 1;
+    /** Record of an appointment booked. */
+    private static final byte APPOINTMENT_ADDED = 2;
+    /** Record of an appointment canceled. */
+    private static final byte APPOINTMENT_REMOVED = 3;
+    /** Record of the active appointments billed. */
+    private static final byte APPOINTMENTS_BILLED = 4;
+    /** Record of the technician rotation advanced. */
+    private static final byte TECHNICIAN_ADVANCED = 5;
+    /** Record that ends the records of one command. */
+    private static final byte GROUP_COMMITTED = 6;
+
+    /**
+     * The directory of the journal and snapshot files.
+     */
+    private final Path directory;
+
+    /**
+     * The database being recorded.
+     */
+    private final Database database;
+
+    /**
+     * Number of commits per fsync.
+     */
+    private final int syncEvery;
+
+    /**
+     * Number of records after which a snapshot is taken.
+     */
+    private final int snapshotEvery;
+
+    /**
+     * The record being built.
+     */
+    private ByteBuffer record = ByteBuffer.allocate(1 << 8);
+
+    /**
+     * Framed records waiting to be written.
+     */
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+
+    /**
+     * Computes the checksum of each record.
+     */
+    private final CRC32 crc = new CRC32();
+
+    /**
+     * The journal file of the current generation.
+     */
+    private FileChannel channel;
+
+    /**
+     * The generation of the current journal file.
+     */
+    private long generation;
+
+    /**
+     * Number of records in the current journal file.
+     */
+    private long records;
+
+    /**
+     * Number of commits since the journal was last forced to the disk.
+     */
+    private int unsynced;
+
+    /**
+     * Held while the journal file is forced to the disk or replaced, which
+     * happens outside the lock of the database.
+     */
+    private final Object syncLock = new Object();
+
+    /**
+     * Number of commits written to the journal file.
+     */
+    private volatile long written;
+
+    /**
+     * Number of commits forced to the disk.
+     */
+    private volatile long synced;
+
+    /**
+     * Number of records since the last commit.
+     */
+    private int uncommitted;
+
+    /**
+     * Length of the journal file up to the end of the last commit.
+     */
+    private long committedEnd;
+
+    /**
+     * Constructs a journal of a database in a directory.
+     *
+     * @param directory     the directory of the journal and snapshot files
+     * @param database      the database being recorded
+     * @param syncEvery     number of commits per fsync
+     * @param snapshotEvery number of records after which a snapshot is taken
+     */
+    private Journal(Path directory, Database database, int syncEvery,
+                    int snapshotEvery) {
+        if (syncEvery < 1 || snapshotEvery < 1) {
+            throw new IllegalArgumentException();
+        }
+        this.directory = directory;
+        this.database = database;
+        this.syncEvery = syncEvery;
+        this.snapshotEvery = snapshotEvery;
+    }
+
+    /**
+     * Opens the journal in a directory with the default fsync batching and
+     * snapshot interval.
+     *
+     * @param directory the directory of the journal and snapshot files
+     * @param database  the database to recover and record
+     * @return the open journal
+     * @throws IOException if the files can't be read or written
+     * @see #open(Path, Database, int, int)
+     */
+    public static Journal open(Path directory, Database database)
+            throws IOException {
+        return open(directory, database, DEFAULT_SYNC_EVERY,
+                DEFAULT_SNAPSHOT_EVERY);
+    }
+
+    /**
+     * Opens the journal in a directory. The database, which must hold the
+     * providers and nothing else, is recovered from the snapshot and the
+     * journal that follows it, and then every change to it is recorded.
+     *
+     * @param directory     the directory of the journal and snapshot files
+     * @param database      the database to recover and record
+     * @param syncEvery     number of commits per fsync
+     * @param snapshotEvery number of records after which a snapshot is taken
+     * @return the open journal
+     * @throws IOException if the files can't be read or written, or belong
+     *                     to a different set of providers
+     */
+    public static Journal open(Path directory, Database database,
+                               int syncEvery, int snapshotEvery)
+            throws IOException {
+        Journal journal = new Journal(directory, database, syncEvery,
+                snapshotEvery);
+        Files.createDirectories(directory);
+        journal.recover();
+        database.setJournal(journal);
+        return journal;
+    }
+
+    /**
+     * Gets the number of providers, which the files are checked against.
+     *
+     * @return the number of providers
+     */
+    private int providerCount() {
+        return database.getProviders().size();
+    }
+
+    /**
+     * Gets the path of the journal file of a generation.
+     *
+     * @param generation the generation
+     * @return the path of the file
+     */
+    private Path journalPath(long generation) {
+        return directory.resolve(String.format(JOURNAL_FILE_FORMAT,
+                generation));
+    }
+
+    /**
+     * Loads the snapshot, replays the journal that follows it, removes
+     * journals of older generations and opens the journal for appending.
+     *
+     * @throws IOException if the files can't be read or written
+     */
+    private void recover() throws IOException {
+        Path snapshot = directory.resolve(SNAPSHOT_FILE);
+        generation = Files.exists(snapshot) ? readSnapshot(snapshot) : 0;
+        Path path = journalPath(generation);
+        channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        if (channel.size() < JOURNAL_HEADER_BYTES) {
+            writeHeader();
+        } else {
+            long end = replay(path);
+            if (end < channel.size()) { channel.truncate(end); }
+            channel.position(end);
+            committedEnd = end;
+        }
+        deleteOlderJournals();
+    }
+
+    /**
+     * Starts the current journal file with its header.
+     *
+     * @throws IOException if the file can't be written
+     */
+    private void writeHeader() throws IOException {
+        channel.truncate(0);
+        ByteBuffer header = ByteBuffer.allocate(JOURNAL_HEADER_BYTES);
+        header.putInt(JOURNAL_MAGIC).putInt(FORMAT_VERSION)
+                .putLong(generation).putInt(providerCount()).flip();
+        channel.position(0);
+        writeFully(header);
+        channel.force(true);
+        records = 0;
+        committedEnd = JOURNAL_HEADER_BYTES;
+    }
+
+    /**
+     * Deletes the journal files of generations before the current one,
+     * which a snapshot has made obsolete.
+     *
+     * @throws IOException if the directory can't be listed
+     */
+    private void deleteOlderJournals() throws IOException {
+        for (long older = generation - 1; older >= 0; older--) {
+            if (!Files.deleteIfExists(journalPath(older))) { break; }
+        }
+    }
+
+    /**
+     * Replays the records of a journal file into the database.
+     *
+     * @param path the journal file
+     * @return the length of the file up to the last intact record
+     * @throws IOException if the file can't be read or doesn't belong to the
+     *                     database
+     */
+    private long replay(Path path) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                Files.newInputStream(path), BUFFER_BYTES))) {
+            if (in.readInt() != JOURNAL_MAGIC ||
+                    in.readInt() != FORMAT_VERSION ||
+                    in.readLong() != generation) {
+                throw new IOException("Not a journal of this database: " +
+                        path);
+            }
+            checkProviderCount(in.readInt());
+
+            long end = JOURNAL_HEADER_BYTES;
+            long position = end;
+            byte[] payload = new byte[MAX_RECORD_BYTES];
+            List<byte[]> group = new List<>();
+            CRC32 check = new CRC32();
+            while (true) {
+                int length;
+                try {
+                    length = in.readInt();
+                    if (length <= 0 || length > MAX_RECORD_BYTES) { break; }
+                    in.readFully(payload, 0, length);
+                    check.reset();
+                    check.update(payload, 0, length);
+                    if (in.readInt() != (int) check.getValue()) { break; }
+                } catch (EOFException e) { // A torn record at the end
+                    break;
+                }
+                position += FRAME_BYTES + length;
+                if (payload[0] != GROUP_COMMITTED) {
+                    group.add(Arrays.copyOf(payload, length));
+                    continue;
+                }
+                for (byte[] record : group) {
+                    apply(ByteBuffer.wrap(record));
+                }
+                records += group.size() + 1;
+                group.clear();
+                end = position;
+            }
+            return end; // Without the records of an uncommitted command
+        }
+    }
+
+    /**
+     * Checks that the files were written with the same number of providers
+     * as the database holds.
+     *
+     * @param count the number of providers in the file
+     * @throws IOException if the number differs
+     */
+    private void checkProviderCount(int count) throws IOException {
+        if (count != providerCount()) {
+            throw new IOException("Data was written with " + count +
+                    " providers but " + providerCount() + " are loaded.");
+        }
+    }
+
+    /**
+     * Applies a record to the database.
+     *
+     * @param in the record
+     */
+    private void apply(ByteBuffer in) {
+        byte type = in.get();
+        switch (type) {
+            case PATIENT_ADDED -> database.addPatient(
+                    new Patient(readProfile(in)));
+            case APPOINTMENT_ADDED -> {
+                Profile profile = readProfile(in);
+                Patient patient = database.getPatient(profile);
+                database.addAppointment(readAppointment(in,
+                        patient != null ? patient : new Patient(profile)));
+            }
+            case APPOINTMENT_REMOVED -> {
+                Profile profile = readProfile(in);
+                Date date = readDate(in);
+                Timeslot timeslot = readTimeslot(in);
+                database.removeAppointment(date, timeslot,
+                        new Person(profile));
+            }
+            case APPOINTMENTS_BILLED -> database.billActiveAppointments();
+            case TECHNICIAN_ADVANCED -> database.nextTechnician();
+            default -> throw new IllegalStateException(
+                    "Unknown journal record: " + type);
+        }
+    }
+
+    /**
+     * Records a patient added to the medical record.
+     *
+     * @param patient the patient
+     */
+    void patientAdded(Patient patient) {
+        startRecord(PATIENT_ADDED);
+        writeProfile(patient.getProfile());
+        endRecord();
+    }
+
+    /**
+     * Records an appointment booked.
+     *
+     * @param appointment the appointment
+     */
+    void appointmentAdded(Appointment appointment) {
+        startRecord(APPOINTMENT_ADDED);
+        writeProfile(appointment.getPatient().getProfile());
+        writeAppointment(appointment);
+        endRecord();
+    }
+
+    /**
+     * Records an appointment canceled.
+     *
+     * @param appointment the appointment
+     */
+    void appointmentRemoved(Appointment appointment) {
+        startRecord(APPOINTMENT_REMOVED);
+        writeProfile(appointment.getPatient().getProfile());
+        record.putInt(appointment.getDate().toEpochDay());
+        writeTimeslot(appointment.getTimeslot());
+        endRecord();
+    }
+
+    /**
+     * Records the active appointments billed.
+     */
+    void appointmentsBilled() {
+        startRecord(APPOINTMENTS_BILLED);
+        endRecord();
+    }
+
+    /**
+     * Records the technician rotation advanced.
+     */
+    void technicianAdvanced() {
+        startRecord(TECHNICIAN_ADVANCED);
+        endRecord();
+    }
+
+    /**
+     * Starts building a record.
+     *
+     * @param type the type of the record
+     */
+    private void startRecord(byte type) {
+        record.clear();
+        record.put(type);
+    }
+
+    /**
+     * Makes room for more bytes in the record being built.
+     *
+     * @param bytes the number of bytes about to be put
+     */
+    private void ensureRecord(int bytes) {
+        if (record.remaining() >= bytes) { return; }
+        ByteBuffer larger = ByteBuffer.allocate(
+                Math.max(record.capacity() * 2, record.position() + bytes));
+        record.flip();
+        larger.put(record);
+        record = larger;
+    }
+
+    /**
+     * Frames the record being built and adds it to the records waiting to
+     * be written.
+     */
+    private void endRecord() {
+        record.flip();
+        int length = record.remaining();
+        if (length > MAX_RECORD_BYTES) {
+            throw new IllegalArgumentException("Journal record too large.");
+        }
+        crc.reset();
+        crc.update(record.array(), 0, length);
+        try {
+            if (buffer.remaining() < FRAME_BYTES + length) { flush(); }
+            if (buffer.remaining() < FRAME_BYTES + length) {
+                ByteBuffer framed = ByteBuffer.allocate(FRAME_BYTES + length);
+                framed.putInt(length).put(record).putInt((int) crc.getValue());
+                framed.flip();
+                writeFully(framed);
+            } else {
+                buffer.putInt(length).put(record).putInt((int) crc.getValue());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        records++;
+        uncommitted++;
+    }
+
+    /**
+     * Writes every byte of a buffer to the journal file.
+     *
+     * @param bytes the bytes to write
+     * @throws IOException if the file can't be written
+     */
+    private void writeFully(ByteBuffer bytes) throws IOException {
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+    }
+
+    /**
+     * Writes the records waiting to be written to the journal file.
+     *
+     * @throws IOException if the file can't be written
+     */
+    private void flush() throws IOException {
+        buffer.flip();
+        writeFully(buffer);
+        buffer.clear();
+    }
+
+    /**
+     * Commits the records of a command and writes them to the journal file,
+     * while the database is locked. Once every {@code syncEvery} commits the
+     * commit must be forced to the disk with {@link #sync(long)} once the
+     * database is unlocked, and a snapshot is taken once the journal is long
+     * enough. A command that recorded nothing commits nothing.
+     *
+     * @return the commit to pass to {@link #sync(long)}
+     * @throws UncheckedIOException if the files can't be written
+     */
+    long commit() {
+        if (uncommitted == 0 && buffer.position() == 0) { return NO_SYNC; }
+        try {
+            if (uncommitted > 0) {
+                startRecord(GROUP_COMMITTED);
+                endRecord();
+                uncommitted = 0;
+            }
+            flush();
+            committedEnd = channel.position();
+            long commit = ++written;
+            if (records >= snapshotEvery) {
+                snapshot();
+                return NO_SYNC;
+            }
+            if (++unsynced < syncEvery) { return NO_SYNC; }
+            unsynced = 0;
+            return commit;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Discards the records of a command that failed, so that the next commit
+     * doesn't make its half-done change durable. Records still waiting to be
+     * written are dropped, and those already written are truncated from the
+     * journal file.
+     *
+     * @throws UncheckedIOException if the file can't be truncated
+     */
+    void rollback() {
+        buffer.clear();
+        records -= uncommitted;
+        uncommitted = 0;
+        try {
+            if (channel.position() > committedEnd) {
+                channel.truncate(committedEnd);
+                channel.position(committedEnd);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Waits until a commit is forced to the disk. If no other command is
+     * forcing the journal file, the file is forced for every commit written
+     * so far; otherwise the commit waits for that fsync, and forces the
+     * file itself only if the fsync didn't cover it.
+     *
+     * @param commit the commit, as returned by {@link #commit()}
+     * @throws UncheckedIOException if the file can't be forced
+     */
+    void sync(long commit) {
+        if (commit <= synced) { return; }
+        synchronized (syncLock) {
+            if (commit <= synced) { return; }
+            long target = written;
+            try {
+                channel.force(false);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            synced = target;
+        }
+    }
+
+    /**
+     * Writes the records waiting to be written and forces the journal file
+     * to the disk.
+     *
+     * @throws IOException if the file can't be written
+     */
+    private void sync() throws IOException {
+        flush();
+        synchronized (syncLock) {
+            channel.force(false);
+            synced = written;
+        }
+        unsynced = 0;
+    }
+
+    /**
+     * Writes the whole state of the database to a new snapshot and starts
+     * the journal of the next generation. The snapshot is written to a
+     * temporary file and moved into place, so a crash leaves either the old
+     * snapshot and journal or the new ones.
+     *
+     * @throws IOException if the files can't be written
+     */
+    public void snapshot() throws IOException {
+        sync();
+        long next = generation + 1;
+        Path temp = directory.resolve(SNAPSHOT_TEMP_FILE);
+        try (FileChannel file = FileChannel.open(temp,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+             DataOutputStream out = new DataOutputStream(
+                     new BufferedOutputStream(Channels.newOutputStream(file),
+                             BUFFER_BYTES))) {
+            writeSnapshot(out, next);
+            out.flush();
+            file.force(true);
+        }
+        Files.move(temp, directory.resolve(SNAPSHOT_FILE),
+                StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+
+        synchronized (syncLock) {
+            channel.close();
+            generation = next;
+            channel = FileChannel.open(journalPath(generation),
+                    StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            writeHeader();
+        }
+        deleteOlderJournals();
+    }
+
+    /**
+     * Writes the state of the database: every patient with their visits,
+     * the active appointments in the order they were booked, and the
+     * current technician of the rotation.
+     *
+     * @param out            the stream to write to
+     * @param nextGeneration the generation of the journal after the snapshot
+     * @throws IOException if the stream can't be written
+     */
+    private void writeSnapshot(DataOutputStream out, long nextGeneration)
+            throws IOException {
+        out.writeInt(SNAPSHOT_MAGIC);
+        out.writeInt(FORMAT_VERSION);
+        out.writeLong(nextGeneration);
+        out.writeInt(providerCount());
+
+        Map<Profile, Integer> patientIds = new Map<>();
+        ListView<Patient> patients = database.getPatients();
+        int[] archivedPatients = new int[patients.size()];
+        out.writeInt(patients.size());
+        for (int index = 0; index < patients.size(); index++) {
+            Patient patient = patients.get(index);
+            Profile profile = patient.getProfile();
+            if (!patientIds.containsKey(profile)) {
+                patientIds.put(profile, index);
+                archivedPatients[database.getPatientId(profile)] = index;
+            }
+            out.writeUTF(profile.getFname());
+            out.writeUTF(profile.getLname());
+            out.writeInt(profile.getDob().toEpochDay());
+            out.writeInt(patient.getLedger().size());
+            for (Visit visit = patient.getVisits(); visit != null;
+                 visit = visit.getNext()) {
+                writeAppointment(out, visit.getAppointment());
+            }
+        }
+
+        out.writeInt(database.getAppointmentCount());
+        for (Appointment appointment : database.getAppointments()) {
+            Integer id = patientIds.get(appointment.getPatient().getProfile());
+            out.writeInt(id == null ? -1 : id);
+            writeAppointment(out, appointment);
+        }
+
+        VisitArchive archive = database.getArchive();
+        int rows = archive == null ? 0 : archive.size();
+        out.writeInt(rows);
+        for (int row = 0; row < rows; row++) {
+            out.writeInt(archivedPatients[archive.getPatient(row)]);
+            out.writeInt(archive.getDate(row));
+            out.writeByte(archive.getSlot(row));
+            out.writeInt(archive.getProvider(row));
+            out.writeByte(archive.getRoom(row));
+        }
+
+        Technician technician = database.getTechnician();
+        out.writeInt(technician == null
+                ? NO_TECHNICIAN : database.indexOfProvider(technician));
+    }
+
+    /**
+     * Reads a snapshot into the database.
+     *
+     * @param path the snapshot file
+     * @return the generation of the journal after the snapshot
+     * @throws IOException if the file can't be read or doesn't belong to the
+     *                     database
+     */
+    private long readSnapshot(Path path) throws IOException {
+        try (InputStream file = Files.newInputStream(path);
+             DataInputStream in = new DataInputStream(
+                     new BufferedInputStream(file, BUFFER_BYTES))) {
+            if (in.readInt() != SNAPSHOT_MAGIC ||
+                    in.readInt() != FORMAT_VERSION) {
+                throw new IOException("Not a snapshot: " + path);
+            }
+            long next = in.readLong();
+            checkProviderCount(in.readInt());
+
+            int patientCount = in.readInt();
+            Patient[] patients = new Patient[patientCount];
+            for (int i = 0; i < patientCount; i++) {
+                String fname = in.readUTF();
+                String lname = in.readUTF();
+                Date dob = toDate(in.readInt());
+                Patient patient = new Patient(new Profile(fname, lname, dob));
+                database.addPatient(patient);
+                int visits = in.readInt();
+                for (int visit = 0; visit < visits; visit++) {
+                    database.addVisit(patient, readAppointment(in, patient));
+                }
+                patients[i] = patient;
+            }
+
+            int appointmentCount = in.readInt();
+            for (int i = 0; i < appointmentCount; i++) {
+                Patient patient = readPatient(in, patients, path);
+                database.addAppointment(readAppointment(in, patient));
+            }
+
+            int archivedCount = in.readInt();
+            for (int i = 0; i < archivedCount; i++) {
+                Patient patient = readPatient(in, patients, path);
+                database.addVisit(patient, readAppointment(in, patient));
+            }
+
+            int technician = in.readInt();
+            if (technician != NO_TECHNICIAN) {
+                Provider current = database.getProvider(technician);
+                for (int i = 0; i < providerCount() &&
+                        database.getTechnician() != current; i++) {
+                    database.nextTechnician();
+                }
+            }
+            return next;
+        }
+    }
+
+    /**
+     * Reads the position of a patient in a snapshot.
+     *
+     * @param in       the stream to read from
+     * @param patients the patients of the snapshot
+     * @param path     the snapshot file
+     * @return the patient at the position
+     * @throws IOException if the stream can't be read or the position is not
+     *                     of a patient
+     */
+    private static Patient readPatient(DataInputStream in, Patient[] patients,
+                                       Path path) throws IOException {
+        int id = in.readInt();
+        if (id < 0 || id >= patients.length) {
+            throw new IOException("Visit of unknown patient: " + path);
+        }
+        return patients[id];
+    }
+
+    /**
+     * Converts a number of days since January 1, 1970 into a Date.
+     *
+     * @param epochDay the number of days
+     * @return the matching Date
+     */
+    private static Date toDate(int epochDay) {
+        LocalDate day = LocalDate.ofEpochDay(epochDay);
+        return new Date(day.getYear(), day.getMonthValue(),
+                day.getDayOfMonth());
+    }
+
+    /**
+     * Puts a string into the record being built.
+     *
+     * @param value the string
+     */
+    private void writeString(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        ensureRecord(2 + bytes.length);
+        record.putShort((short) bytes.length).put(bytes);
+    }
+
+    /**
+     * Gets a string from a record.
+     *
+     * @param in the record
+     * @return the string
+     */
+    private static String readString(ByteBuffer in) {
+        int length = Short.toUnsignedInt(in.getShort());
+        String value = new String(in.array(), in.arrayOffset() +
+                in.position(), length, StandardCharsets.UTF_8);
+        in.position(in.position() + length);
+        return value;
+    }
+
+    /**
+     * Puts a profile into the record being built.
+     *
+     * @param profile the profile
+     */
+    private void writeProfile(Profile profile) {
+        writeString(profile.getFname());
+        writeString(profile.getLname());
+        ensureRecord(4);
+        record.putInt(profile.getDob().toEpochDay());
+    }
+
+    /**
+     * Gets a profile from a record.
+     *
+     * @param in the record
+     * @return the profile
+     */
+    private static Profile readProfile(ByteBuffer in) {
+        String fname = readString(in);
+        String lname = readString(in);
+        return new Profile(fname, lname, toDate(in.getInt()));
+    }
+
+    /**
+     * Puts a timeslot into the record being built as its position in the
+     * timeslot table.
+     *
+     * @param timeslot the timeslot
+     */
+    private void writeTimeslot(Timeslot timeslot) {
+        ensureRecord(1);
+        record.put((byte) database.getTimeslots().indexOf(timeslot));
+    }
+
+    /**
+     * Gets a timeslot from a record.
+     *
+     * @param in the record
+     * @return the timeslot
+     */
+    private Timeslot readTimeslot(ByteBuffer in) {
+        return database.getTimeslots().get(in.get() + Timeslot.START_ID);
+    }
+
+    /**
+     * Gets a date from a record.
+     *
+     * @param in the record
+     * @return the date
+     */
+    private static Date readDate(ByteBuffer in) {
+        return toDate(in.getInt());
+    }
+
+    /**
+     * Puts the date, timeslot, provider and room of an appointment into the
+     * record being built.
+     *
+     * @param appointment the appointment
+     */
+    private void writeAppointment(Appointment appointment) {
+        ensureRecord(4 + 1 + 4 + 1);
+        record.putInt(appointment.getDate().toEpochDay());
+        writeTimeslot(appointment.getTimeslot());
+        record.putInt(database.indexOfProvider(appointment.getProvider()));
+        record.put(appointment instanceof Imaging imaging
+                ? (byte) imaging.getRoom().ordinal() : NO_ROOM);
+    }
+
+    /**
+     * Gets an appointment of a patient from a record.
+     *
+     * @param in      the record
+     * @param patient the patient of the appointment
+     * @return the appointment
+     */
+    private Appointment readAppointment(ByteBuffer in, Patient patient) {
+        Date date = readDate(in);
+        Timeslot timeslot = readTimeslot(in);
+        Provider provider = database.getProvider(in.getInt());
+        byte room = in.get();
+        return toAppointment(date, timeslot, patient, provider, room);
+    }
+
+    /**
+     * Writes the date, timeslot, provider and room of an appointment to a
+     * snapshot.
+     *
+     * @param out         the stream to write to
+     * @param appointment the appointment
+     * @throws IOException if the stream can't be written
+     */
+    private void writeAppointment(DataOutputStream out,
+                                  Appointment appointment) throws IOException {
+        out.writeInt(appointment.getDate().toEpochDay());
+        out.writeByte(database.getTimeslots().indexOf(
+                appointment.getTimeslot()));
+        out.writeInt(database.indexOfProvider(appointment.getProvider()));
+        out.writeByte(appointment instanceof Imaging imaging
+                ? imaging.getRoom().ordinal() : NO_ROOM);
+    }
+
+    /**
+     * Reads an appointment of a patient from a snapshot.
+     *
+     * @param in      the stream to read from
+     * @param patient the patient of the appointment
+     * @return the appointment
+     * @throws IOException if the stream can't be read
+     */
+    private Appointment readAppointment(DataInputStream in, Patient patient)
+            throws IOException {
+        Date date = toDate(in.readInt());
+        Timeslot timeslot = database.getTimeslots().get(
+                in.readByte() + Timeslot.START_ID);
+        Provider provider = database.getProvider(in.readInt());
+        byte room = in.readByte();
+        return toAppointment(date, timeslot, patient, provider, room);
+    }
+
+    /**
+     * Creates an office or imaging appointment.
+     *
+     * @param date     the date of the appointment
+     * @param timeslot the timeslot of the appointment
+     * @param patient  the patient
+     * @param provider the provider
+     * @param room     the ordinal of the imaging room, or {@link #NO_ROOM}
+     * @return the appointment
+     */
+    private static Appointment toAppointment(Date date, Timeslot timeslot,
+                                             Patient patient,
+                                             Provider provider, byte room) {
+        if (room == NO_ROOM) {
+            return new Appointment(date, timeslot, patient, provider);
+        }
+        return new Imaging(date, timeslot, patient, provider,
+                Radiology.values()[room]);
+    }
+
+    /**
+     * Writes every record that was not yet committed, forces the journal to
+     * the disk and stops recording the database.
+     *
+     * @throws IOException if the files can't be written
+     */
+    @Override
+    public void close() throws IOException {
+        database.setJournal(null);
+        try {
+            if (uncommitted > 0) {
+                startRecord(GROUP_COMMITTED);
+                endRecord();
+            }
+            sync();
+        } finally {
+            synchronized (syncLock) {
+                channel.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package org.cs213.clinic.core;
+
+import org.cs213.clinic.util.Map;
+
+/**
+ * The Ledger class is the billing record of a patient: the linked list of
+ * visits (completed appointments) together with what they are charged. The
+ * ledger keeps a reference to the last visit, so adding a visit doesn't walk
+ * the list, and it keeps the total charge and the charge of each provider up
+ * to date as visits are added, so billing statements never walk it either.
+ * The ledger owns its list of visits; linking visits into it from outside
+ * leaves the totals out of date.
+ *
+ * @author Elian Deogracia-Brito
+ * @author Tiara Clyde
+ */
+public class Ledger {
+    /**
+     * The first visit of the list.
+     */
+    private Visit head;
+
+    /**
+     * The last visit of the list.
+     */
+    private Visit tail;
+
+    /**
+     * Number of visits in the list.
+     */
+    private int size;
+
+    /**
+     * The total charge of all visits.
+     */
+    private int total;
+
+    /**
+     * The charge of the visits of each provider that was visited.
+     */
+    private final Map<Provider, Integer> subtotals;
+
+    /**
+     * Constructs an empty ledger.
+     */
+    public Ledger() {
+        this(null);
+    }
+
+    /**
+     * Constructs a ledger of an existing linked list of visits.
+     *
+     * @param visits the first visit of the list, or null for none
+     */
+    public Ledger(Visit visits) {
+        subtotals = new Map<>();
+        for (Visit visit = visits; visit != null; visit = visit.getNext()) {
+            count(visit);
+        }
+        head = visits;
+    }
+
+    /**
+     * Adds the charge of a visit that has been linked at the end of the list.
+     *
+     * @param visit the visit to count
+     */
+    private void count(Visit visit) {
+        Provider provider = visit.getAppointment().getProvider();
+        int rate = provider.rate();
+        Integer subtotal = subtotals.get(provider);
+        subtotals.put(provider, subtotal == null ? rate : subtotal + rate);
+        total += rate;
+        size++;
+        tail = visit;
+    }
+
+    /**
+     * Adds a visit at the end of the list.
+     *
+     * @param appointment the appointment object associated with the visit
+     */
+    public void add(Appointment appointment) {
+        Visit visit = new Visit(appointment, null);
+        if (tail == null) {
+            head = visit;
+        } else {
+            tail.setNext(visit);
+        }
+        count(visit);
+    }
+
+    /**
+     * Returns the linked list of visits.
+     *
+     * @return the first visit of the list, or null if there are none
+     */
+    public Visit getVisits() {
+        return head;
+    }
+
+    /**
+     * Returns the number of visits.
+     *
+     * @return the number of visits
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the total charge of all visits.
+     *
+     * @return the total charge
+     */
+    public int getTotal() {
+        return total;
+    }
+
+    /**
+     * Returns the charge of the visits of a provider.
+     *
+     * @param provider the provider
+     * @return the charge of the provider's visits, or 0 if there are none
+     */
+    public int getSubtotal(Provider provider) {
+        Integer subtotal = subtotals.get(provider);
+        return subtotal == null ? 0 : subtotal;
+    }
+}
@@ -1,36 +1,146 @@
 package org.cs213.clinic.core;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+
 /**
- * Main entry point for the command line interface version of the 
+ * Main entry point for the command line interface version of the
  * Clinic Management System. This class initializes the ClinicManager
  * and handles any command line arguments.
  */
 public class MainCLI {
-    
+
     /**
      * Main method to start the CLI version of the application.
-     * @param args command line arguments. Use "--no-load" to start 
-     *            without loading providers file.
+     * @param args command line arguments. Use "--no-load" to start
+     *            without loading providers file, and "--batch &lt;file&gt;"
+     *            to process a command file in batch mode instead of reading
+     *            commands interactively. "--data &lt;dir&gt;" keeps the
+     *            patients and appointments in a journal in the directory,
+     *            recovered at start, and "--sync-every &lt;n&gt;" forces the
+     *            journal to the disk once every n commands instead of after
+     *            every command. "--archive &lt;dir&gt;" moves billed visits
+     *            into memory-mapped column files in the directory, and
+     *            "--serve &lt;port&gt;" serves commands to clients on the
+     *            network instead of reading them.
      */
     public static void main(String[] args) {
         try {
+            boolean noLoad = false;
+            File batchFile = null;
+            Path dataDir = null;
+            Path archiveDir = null;
+            int servePort = -1;
+            int syncEvery = Journal.DEFAULT_SYNC_EVERY;
+            for (int i = 0; i < args.length; i++) {
+                if (args[i].equals("--no-load")) {
+                    noLoad = true;
+                } else if (args[i].equals("--batch") && i + 1 < args.length) {
+                    batchFile = new File(args[++i]);
+                } else if (args[i].equals("--data") && i + 1 < args.length) {
+                    dataDir = Path.of(args[++i]);
+                } else if (args[i].equals("--sync-every") &&
+                        i + 1 < args.length) {
+                    syncEvery = Integer.parseInt(args[++i]);
+                } else if (args[i].equals("--archive") &&
+                        i + 1 < args.length) {
+                    archiveDir = Path.of(args[++i]);
+                } else if (args[i].equals("--serve") && i + 1 < args.length) {
+                    servePort = Integer.parseInt(args[++i]);
+                }
+            }
+
             ClinicManager manager;
-            
-            if (args.length > 0 && args[0].equals("--no-load")) {
+
+            if (servePort >= 0) {
+                // Clients share the database from many threads
+                manager = new ClinicManager(new ConcurrentDatabase(
+                        ClinicManager.createTimeslotTable()));
+                if (!noLoad) {
+                    System.out.print(manager.loadProviders(
+                            ClinicManager.PROVIDERS_PATH));
+                }
+            } else if (noLoad) {
                 // Initialize without loading providers file
                 manager = new ClinicManager(true);
             } else {
                 // Initialize and load providers file
                 manager = new ClinicManager();
             }
-            
-            // Start the CLI interface
-            manager.run();
-            
+
+            // Keep billed visits off the heap, also those recovered below
+            VisitArchive archive = archiveDir == null ? null :
+                    VisitArchive.open(archiveDir);
+            manager.getDatabase().setArchive(archive);
+
+            // Recover the saved data and record every change from now on
+            Journal journal = dataDir == null ? null : Journal.open(dataDir,
+                    manager.getDatabase(), syncEvery,
+                    Journal.DEFAULT_SNAPSHOT_EVERY);
+
+            if (servePort >= 0) {
+                // Serve clients until the process is stopped, then close
+                // the server before the files its commands write to
+                CommandServer server = new CommandServer(
+                        manager.getCommandRegistry(), servePort);
+                Database database = manager.getDatabase();
+                Runtime.getRuntime().addShutdownHook(new Thread(() ->
+                        stop(server, database, journal, archive)));
+                System.out.println("Serving commands on port " +
+                        server.getPort());
+                server.run();
+                return;
+            }
+
+            try {
+                if (batchFile != null) {
+                    // Stream the command file through the batch mode
+                    manager.runBatch(batchFile);
+                } else {
+                    // Start the CLI interface
+                    manager.run();
+                }
+            } finally {
+                if (journal != null) { journal.close(); }
+                if (archive != null) { archive.close(); }
+            }
+
         } catch (Exception e) {
             System.err.println("Error starting Clinic Manager: " + e.getMessage());
             e.printStackTrace();
             System.exit(1);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Stops serving commands when the process is stopped. The server is
+     * closed first, then the journal and the archive are closed while the
+     * database is locked for writing, so commands still running finish
+     * before the files close and later ones find no journal to write to.
+     *
+     * @param server   the server
+     * @param database the database the server's commands run against
+     * @param journal  the journal, or null if there is none
+     * @param archive  the archive, or null if there is none
+     */
+    private static void stop(CommandServer server, Database database,
+                             Journal journal, VisitArchive archive) {
+        try {
+            server.close();
+            database.write(() -> {
+                try {
+                    if (journal != null) { journal.close(); }
+                    if (archive != null) { archive.close(); }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return "";
+            });
+        } catch (IOException | UncheckedIOException e) {
+            System.err.println("Error stopping Clinic Manager: " +
+                    e.getMessage());
+        }
+    }
+}
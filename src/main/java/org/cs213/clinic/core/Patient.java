@@ -2,19 +2,19 @@ package org.cs213.clinic.core;
 
 /**
  * The Patient class is a representation of a patient which includes a profile
- * and a linked list of visits (completed appointments). This class is mainly
+ * and a ledger of visits (completed appointments). This class is mainly
  * utilized during statement generations to confirm a patient has visited a
- * provider. The class also includes a method to calculate the total charge of
- * all visits.
+ * provider. The class also includes a method to get the total charge of
+ * all visits, which the ledger keeps up to date.
  * 
  * @author Elian Deogracia-Brito
  * @author Tiara Clyde
  */
 public class Patient extends Person implements Comparable<Person> {
     /**
-     * A linked list of visits (completed appointments).
+     * The ledger of visits (completed appointments).
      */
-    private Visit visits;
+    private Ledger ledger;
 
     /**
      * Constructs a patient with a specific profile and a linked list of visits
@@ -35,7 +35,7 @@ public class Patient extends Person implements Comparable<Person> {
      */
     public Patient(Profile profile, Visit visits) {
         super(profile);
-        this.visits = visits;
+        this.ledger = new Ledger(visits);
     }
 
     /**
@@ -75,7 +75,7 @@ public class Patient extends Person implements Comparable<Person> {
      * @return the linked list of visits (completed appointments)
      */
     public Visit getVisits() {
-        return visits;
+        return ledger.getVisits();
     }
 
     /**
@@ -84,7 +84,16 @@ public class Patient extends Person implements Comparable<Person> {
      * @param visits the linked list of visits (completed appointments)
      */
     public void setVisits(Visit visits) {
-        this.visits = visits;
+        this.ledger = new Ledger(visits);
+    }
+
+    /**
+     * Returns the ledger of visits (completed appointments).
+     *
+     * @return the ledger of visits
+     */
+    public Ledger getLedger() {
+        return ledger;
     }
 
     /**
@@ -93,32 +102,16 @@ public class Patient extends Person implements Comparable<Person> {
      * @param appointment the appointment object associated with the visit
      */
     public void addVisit(Appointment appointment) {
-        Visit newVisit = new Visit(appointment, null);
-        if (visits == null) {
-            visits = newVisit;
-            return;
-        }
-
-        Visit current = visits;
-        while (current.getNext() != null) {
-            current = current.getNext();
-        }
-        current.setNext(newVisit);
+        ledger.add(appointment);
     }
 
     /**
-     * Calculates the total charge of all visits (completed appointments).
+     * Returns the total charge of all visits (completed appointments).
      * 
      * @return the total charge of all visits (completed appointments)
      */
     public int charge() {
-        Visit current = visits;
-        int total = 0;
-        while (current != null) {
-            total += current.getAppointment().getProvider().rate();
-            current = current.getNext();
-        }
-        return total;
+        return ledger.getTotal();
     }
 
     /**
@@ -64,6 +64,16 @@ public class Person implements Comparable<Person> {
         return profile.toString();
     }
 
+    /**
+     * Appends the string representation of the person to a builder, the same
+     * as {@link #toString()} but without creating an intermediate String.
+     *
+     * @param builder the builder to append to
+     */
+    public void appendTo(StringBuilder builder) {
+        profile.appendTo(builder);
+    }
+
     /**
      * Checks if the passed attributes of a profile matches the person's
      * profile.
@@ -26,6 +26,12 @@ public class Profile implements Comparable<Profile> {
      */
     private Date dob;
 
+    /**
+     * The string representation of the profile, or null until it is first
+     * needed. Profiles never change, so it is built at most once.
+     */
+    private String rendering;
+
     /**
      * Constructs a Profile object with the specified first name, last name,
      * and date of birth.
@@ -35,9 +41,21 @@ public class Profile implements Comparable<Profile> {
      * @param dob   the date of birth of the profile
      */
     public Profile(String fname, String lname, String dob) {
+        this(fname, lname, Date.parseDate(dob));
+    }
+
+    /**
+     * Constructs a Profile object with the specified first name, last name,
+     * and an already parsed date of birth.
+     *
+     * @param fname the first name of the profile
+     * @param lname the last name of the profile
+     * @param dob   the date of birth of the profile
+     */
+    public Profile(String fname, String lname, Date dob) {
         this.fname = fname;
         this.lname = lname;
-        this.dob = Date.parseDate(dob);
+        this.dob = dob;
     }
 
     /**
@@ -82,11 +100,67 @@ public class Profile implements Comparable<Profile> {
             Profile profile = (Profile) obj;
             return this.fname.equals(profile.fname) &&
                     this.lname.equals(profile.lname) &&
-                    this.dob.toString().equals(profile.dob.toString());
+                    this.dob.equals(profile.dob);
         }
         return false; // take a look back
     }
 
+    /**
+     * Returns a hash code for the profile based on the first name, last name,
+     * and date of birth, consistent with equals(). The names are hashed with
+     * their case folded, so profiles that only match ignoring case also share
+     * a hash code.
+     *
+     * @return the hash code of the profile
+     * @see #hashCodeIgnoreCase()
+     */
+    @Override
+    public int hashCode() {
+        return hashCodeIgnoreCase();
+    }
+
+    /**
+     * Returns a hash code for the profile attributes that ignores the case of
+     * the first and last name. Profiles that match case-insensitively always
+     * share this hash code.
+     *
+     * @return the case-insensitive hash code of the profile
+     */
+    public int hashCodeIgnoreCase() {
+        return (foldedHash(fname) * 31 + foldedHash(lname)) * 31 +
+                dob.hashCode();
+    }
+
+    /**
+     * Hashes a string after folding the case of every character the same way
+     * {@link String#equalsIgnoreCase(String)} compares them.
+     *
+     * @param str the string to hash
+     * @return the case-folded hash of the string
+     */
+    private static int foldedHash(String str) {
+        int hash = 0;
+        for (int index = 0; index < str.length(); index++) {
+            char c = Character.toLowerCase(
+                    Character.toUpperCase(str.charAt(index)));
+            hash = 31 * hash + c;
+        }
+        return hash;
+    }
+
+    /**
+     * Checks if another profile has the same first name and last name,
+     * ignoring case, and the same date of birth.
+     *
+     * @param profile the profile to compare with
+     * @return true if the profiles match ignoring case
+     */
+    public boolean equalsIgnoreCase(Profile profile) {
+        return this.fname.equalsIgnoreCase(profile.fname) &&
+                this.lname.equalsIgnoreCase(profile.lname) &&
+                this.dob.equals(profile.dob);
+    }
+
     /**
      * Returns a string representation of the profile in the format "fname
      * lname dob".
@@ -95,7 +169,21 @@ public class Profile implements Comparable<Profile> {
      */
     @Override
     public String toString() {
-        return fname + " " + lname + " " + dob.toString();
+        String cached = rendering;
+        if (cached == null) {
+            cached = fname + " " + lname + " " + dob.toString();
+            rendering = cached;
+        }
+        return cached;
+    }
+
+    /**
+     * Appends the string representation of the profile to a builder.
+     *
+     * @param builder the builder to append to
+     */
+    public void appendTo(StringBuilder builder) {
+        builder.append(toString());
     }
 
     /**
@@ -13,6 +13,13 @@ public abstract class Provider extends Person {
      */
     private Location location;
 
+    /**
+     * The string representation of the provider, or null until it is first
+     * needed. Providers are printed with every appointment, so the
+     * representation is kept, and dropped whenever a setter changes it.
+     */
+    private String rendering;
+
     /**
      * Initializes the Provider object with the given profile.
      *
@@ -45,5 +52,58 @@ public abstract class Provider extends Person {
      */
     public void setLocation(Location location) {
         this.location = location;
+        invalidateRendering();
+    }
+
+    /**
+     * Set the profile object for the provider.
+     *
+     * @param profile profile to set to
+     */
+    @Override
+    public void setProfile(Profile profile) {
+        super.setProfile(profile);
+        invalidateRendering();
+    }
+
+    /**
+     * Formats the string representation of the provider.
+     *
+     * @return the provider's information
+     */
+    protected abstract String render();
+
+    /**
+     * Drops the kept string representation of the provider, for setters
+     * that change what {@link #render()} returns.
+     */
+    protected void invalidateRendering() {
+        rendering = null;
+    }
+
+    /**
+     * Gets the string representation of the provider, formatted once and
+     * kept until the provider changes.
+     *
+     * @return the provider's information
+     */
+    @Override
+    public final String toString() {
+        String cached = rendering;
+        if (cached == null) {
+            cached = render();
+            rendering = cached;
+        }
+        return cached;
+    }
+
+    /**
+     * Appends the string representation of the provider to a builder.
+     *
+     * @param builder the builder to append to
+     */
+    @Override
+    public void appendTo(StringBuilder builder) {
+        builder.append(toString());
     }
 }
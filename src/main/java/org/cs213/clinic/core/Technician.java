@@ -51,12 +51,12 @@ public class Technician extends Provider {
     }
 
     /**
-     * Gets the string representation of a technician's information.
+     * Formats the string representation of a technician's information.
      *
      * @return technician's information
      */
     @Override
-    public String toString() {
+    protected String render() {
         final String doctorInfoFormat = "[%s, %s][rate: $%.2f]";
         return String.format(doctorInfoFormat, profile,
                 getLocation(), (double) ratePerVisit);
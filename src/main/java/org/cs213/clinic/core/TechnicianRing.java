@@ -0,0 +1,109 @@
+package org.cs213.clinic.core;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The TechnicianRing class is the rotation imaging appointments are assigned
+ * through. Technicians rotate in the reverse of the order they were added,
+ * starting from the first technician added if it was also the first provider
+ * of the clinic, and from the last technician added otherwise. The current
+ * technician is an atomic cursor into an array, so reading and advancing the
+ * rotation are O(1) and never lose or repeat a step when several threads
+ * advance it at once. Technicians are added while the providers are loaded,
+ * before the rotation is used.
+ *
+ * @author Elian Deogracia-Brito
+ * @author Tiara Clyde
+ */
+final class TechnicianRing {
+    /**
+     * Cursor value for a rotation that has not picked its first technician.
+     */
+    private static final int UNALIGNED = -1;
+
+    /**
+     * The technicians in the reverse of the order they were added.
+     */
+    private volatile Technician[] technicians = new Technician[0];
+
+    /**
+     * The position of the current technician, or {@link #UNALIGNED}.
+     */
+    private final AtomicInteger cursor = new AtomicInteger(UNALIGNED);
+
+    /**
+     * Whether the rotation starts from the first technician added.
+     */
+    private volatile boolean startsAtFirst;
+
+    /**
+     * Adds a technician to the rotation. The technician comes right before
+     * every technician added so far, and the current technician stays the
+     * same.
+     *
+     * @param technician the technician to add
+     * @param firstProvider true if the technician is the first provider of
+     *                      the clinic
+     */
+    synchronized void add(Technician technician, boolean firstProvider) {
+        Technician[] ring = new Technician[technicians.length + 1];
+        System.arraycopy(technicians, 0, ring, 1, technicians.length);
+        ring[0] = technician;
+        if (firstProvider) { startsAtFirst = true; }
+        technicians = ring;
+        cursor.updateAndGet(index -> index == UNALIGNED ? index : index + 1);
+    }
+
+    /**
+     * Gets the position of the current technician, picking the first one if
+     * the rotation hasn't been used yet.
+     *
+     * @param ring the technicians of the rotation
+     * @return the position of the current technician
+     */
+    private int align(Technician[] ring) {
+        int index = cursor.get();
+        if (index != UNALIGNED) { return index; }
+        cursor.compareAndSet(UNALIGNED, startsAtFirst ? ring.length - 1 : 0);
+        return cursor.get();
+    }
+
+    /**
+     * Gets the current technician.
+     *
+     * @return the current technician, or null if there are none
+     */
+    Technician current() {
+        Technician[] ring = technicians;
+        if (ring.length == 0) { return null; }
+        return ring[align(ring)];
+    }
+
+    /**
+     * Moves the rotation to the next technician.
+     *
+     * @return the new current technician, or null if there are none
+     */
+    Technician advance() {
+        Technician[] ring = technicians;
+        if (ring.length == 0) { return null; }
+        align(ring);
+        return ring[cursor.updateAndGet(index -> (index + 1) % ring.length)];
+    }
+
+    /**
+     * Gets every technician in rotation order, starting from the current one.
+     *
+     * @return the technicians in rotation order
+     */
+    Technician[] toArray() {
+        Technician[] ring = technicians;
+        if (ring.length == 0) { return ring; }
+        int start = align(ring);
+        Technician[] ordered = new Technician[ring.length];
+        int tail = ring.length - start;
+        System.arraycopy(ring, start, ordered, 0, tail);
+        System.arraycopy(ring, 0, ordered, tail, start);
+        return ordered;
+    }
+}
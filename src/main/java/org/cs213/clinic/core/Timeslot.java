@@ -1,5 +1,7 @@
 package org.cs213.clinic.core;
 
+import org.cs213.clinic.util.Format;
+
 /**
  * The Timeslot enum contains the timeslots for each appointment
  * by their hour and minutes. The timeslots are used to schedule
@@ -53,6 +55,10 @@ public class Timeslot implements Comparable<Timeslot> {
     private final int hour;
     /** The minutes of the timeslot. */
     private final int minutes;
+    /** The minutes from midnight to the timeslot. */
+    private final short minuteOfDay;
+    /** The timeslot in 12-hour time, or null until it is first needed. */
+    private String twelveHour;
 
     /**
      * Constructs a timeslot with a specific hour and minutes. This follows
@@ -70,6 +76,7 @@ public class Timeslot implements Comparable<Timeslot> {
         }
         this.hour = hour;
         this.minutes = minutes;
+        this.minuteOfDay = (short) (hour * NUM_OF_MINUTES + minutes);
     }
 
     /**
@@ -105,6 +112,7 @@ public class Timeslot implements Comparable<Timeslot> {
 
         this.hour = hour;
         this.minutes = minutes;
+        this.minuteOfDay = (short) (hour * NUM_OF_MINUTES + minutes);
     }
 
     /**
@@ -125,6 +133,17 @@ public class Timeslot implements Comparable<Timeslot> {
         return minutes;
     }
 
+    /**
+     * Returns the number of minutes from midnight to the timeslot. Distinct
+     * timeslots always have distinct minutes of the day, in the same order as
+     * the timeslots.
+     *
+     * @return the minute of the day of the timeslot
+     */
+    public int getMinuteOfDay() {
+        return minuteOfDay;
+    }
+
     /**
      * Check if two timeslot objects are equal based on the hour and minute.
      *
@@ -135,12 +154,22 @@ public class Timeslot implements Comparable<Timeslot> {
     public boolean equals(Object obj) {
         if (obj instanceof Timeslot) {
             Timeslot timeslot = (Timeslot) obj;
-            return (this.hour == timeslot.hour) &&
-                (this.minutes == timeslot.minutes);
+            return this.minuteOfDay == timeslot.minuteOfDay;
         }
         return false;
     }
 
+    /**
+     * Get the hash code of the timeslot as its minute of the day. Equal
+     * timeslots always share the same hash code.
+     *
+     * @return the hash code of the timeslot
+     */
+    @Override
+    public int hashCode() {
+        return minuteOfDay;
+    }
+
     /**
      * Get the string representation of the timeslot in the format "HH:MM".
      *
@@ -152,7 +181,23 @@ public class Timeslot implements Comparable<Timeslot> {
     }
 
     /**
-     * Compare two timeslots objects based on the hour and minute.
+     * Get the timeslot in 12-hour time, as {@link Format#get12Hour}
+     * formats it. Timeslots never change, so it is formatted at most once.
+     *
+     * @return the timeslot in 12-hour time
+     */
+    public String to12Hour() {
+        String cached = twelveHour;
+        if (cached == null) {
+            cached = Format.get12Hour(this);
+            twelveHour = cached;
+        }
+        return cached;
+    }
+
+    /**
+     * Compare two timeslots objects based on their minute of the day, which
+     * orders them by the hour and then the minute.
      *
      * @param timeslot the Timeslot object to compare
      * @return 1 if this Date object is greater than other, -1 if smaller, 0 if
@@ -160,16 +205,6 @@ public class Timeslot implements Comparable<Timeslot> {
      */
     @Override
     public int compareTo(Timeslot timeslot) {
-        if (this.hour > timeslot.hour) {
-            return 1;
-        } else if (this.hour < timeslot.hour) {
-            return -1;
-        } else if (this.minutes > timeslot.minutes) {
-            return 1;
-        } else if (this.minutes < timeslot.minutes) {
-            return -1;
-        } else {
-            return 0;
-        }
+        return Integer.compare(this.minuteOfDay, timeslot.minuteOfDay);
     }
 }
@@ -0,0 +1,173 @@
+package org.cs213.clinic.core;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * The TimeslotTable class is the fixed set of timeslots a clinic books
+ * appointments in. Timeslots are numbered from {@link Timeslot#START_ID} in
+ * the order they are given, and the table holds a single shared instance of
+ * each one. Looking up a timeslot by its id, or the id and position of a
+ * timeslot, are array accesses that allocate nothing.
+ *
+ * @author Elian Deogracia-Brito
+ * @author Tiara Clyde
+ */
+public final class TimeslotTable implements Iterable<Timeslot> {
+    /**
+     * Number of minutes in a day, which bounds the minute of the day of every
+     * timeslot.
+     */
+    private static final int MINUTES_PER_DAY =
+            Timeslot.NUM_OF_HOURS * Timeslot.NUM_OF_MINUTES;
+
+    /**
+     * Position used for minutes of the day that have no timeslot.
+     */
+    private static final short NO_INDEX = -1;
+
+    /**
+     * The id string returned for timeslots outside the table.
+     */
+    private static final String NONE_ID = String.valueOf(Timeslot.NONE_ID);
+
+    /**
+     * The timeslots in order of their id.
+     */
+    private final Timeslot[] timeslots;
+
+    /**
+     * The id of each timeslot as a string, by position.
+     */
+    private final String[] ids;
+
+    /**
+     * The position of the timeslot at each minute of the day.
+     */
+    private final short[] indexByMinute;
+
+    /**
+     * Constructs a table of the given timeslots, numbered in the order given.
+     *
+     * @param timeslots the timeslots of the table
+     * @throws IllegalArgumentException if two timeslots are at the same time
+     */
+    public TimeslotTable(Timeslot... timeslots) {
+        this.timeslots = timeslots.clone();
+        this.ids = new String[timeslots.length];
+        this.indexByMinute = new short[MINUTES_PER_DAY];
+        Arrays.fill(indexByMinute, NO_INDEX);
+        for (int i = 0; i < timeslots.length; i++) {
+            int minute = timeslots[i].getMinuteOfDay();
+            if (indexByMinute[minute] != NO_INDEX) {
+                throw new IllegalArgumentException(
+                        "Duplicate timeslot: " + timeslots[i]);
+            }
+            indexByMinute[minute] = (short) i;
+            ids[i] = String.valueOf(i + Timeslot.START_ID);
+        }
+    }
+
+    /**
+     * Gets the timeslot with the id.
+     *
+     * @param id the timeslot id
+     * @return the timeslot, or null if no timeslot has the id
+     */
+    public Timeslot get(int id) {
+        int index = id - Timeslot.START_ID;
+        if (index < 0 || index >= timeslots.length) { return null; }
+        return timeslots[index];
+    }
+
+    /**
+     * Gets the timeslot with the id in string form.
+     *
+     * @param id the timeslot id in string form
+     * @return the timeslot, or null if the id is not a number or no timeslot
+     *         has the id
+     */
+    public Timeslot get(String id) {
+        try {
+            return get(Integer.parseInt(id));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Gets the position of a timeslot within the table, starting at 0.
+     *
+     * @param timeslot the timeslot to find
+     * @return the position of the timeslot, or -1 if it is not in the table
+     */
+    public int indexOf(Timeslot timeslot) {
+        return indexByMinute[timeslot.getMinuteOfDay()];
+    }
+
+    /**
+     * Gets the id of a timeslot in string form.
+     *
+     * @param timeslot the timeslot to get the id for
+     * @return the timeslot id, or {@link Timeslot#NONE_ID} if it is not in
+     *         the table
+     */
+    public String getId(Timeslot timeslot) {
+        int index = indexOf(timeslot);
+        return index == NO_INDEX ? NONE_ID : ids[index];
+    }
+
+    /**
+     * Gets the number of timeslots in the table.
+     *
+     * @return the number of timeslots
+     */
+    public int size() {
+        return timeslots.length;
+    }
+
+    /**
+     * Returns an iterator over the timeslots in order of their id.
+     *
+     * @return an Iterator.
+     */
+    @Override
+    public Iterator<Timeslot> iterator() {
+        return new TimeslotIterator();
+    }
+
+    /**
+     * Responsible for iterating through the timeslots in order of their id.
+     */
+    private class TimeslotIterator implements Iterator<Timeslot> {
+        /**
+         * The position of the next timeslot.
+         */
+        private int index = 0;
+
+        /**
+         * Returns {@code true} if the iteration has more elements.
+         *
+         * @return {@code true} if the iteration has more elements
+         */
+        @Override
+        public boolean hasNext() {
+            return index < timeslots.length;
+        }
+
+        /**
+         * Returns the next element in the iteration.
+         *
+         * @return the next element in the iteration
+         * @throws NoSuchElementException if the iteration has no more elements
+         */
+        @Override
+        public Timeslot next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return timeslots[index++];
+        }
+    }
+}
@@ -0,0 +1,322 @@
+package org.cs213.clinic.core;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The VisitArchive class holds billed visits outside the Java heap. Each
+ * visit is a row of primitive columns (the date as a day number, the
+ * timeslot, the patient id, the provider id and the imaging room) and every
+ * column is a memory-mapped file of its own, so a report that only needs
+ * the patients and providers of the visits reads just those two columns.
+ * Rows are appended and never change; the mappings grow by doubling.
+ *
+ * <p>Reports scan the columns in place with no object created per row. The
+ * archive is the storage of the visits, not their durable record: each
+ * archive starts empty, and a {@link Journal} recovers the visits into it.
+ * Patients and providers are identified by the ids the {@link Database}
+ * gives them.</p>
+ *
+ * @author Elian Deogracia-Brito
+ * @author Tiara Clyde
+ */
+public class VisitArchive implements AutoCloseable {
+    /**
+     * Marks a visit with no imaging room.
+     */
+    public static final byte NO_ROOM = -1;
+
+    /**
+     * Number of rows the columns are mapped for at first.
+     */
+    private static final int INITIAL_ROWS = 1 << 12;
+
+    /**
+     * Name of the column of dates, as days since January 1, 1970.
+     */
+    private static final String DATE_COLUMN = "date.col";
+
+    /**
+     * Name of the column of timeslot positions.
+     */
+    private static final String SLOT_COLUMN = "slot.col";
+
+    /**
+     * Name of the column of patient ids.
+     */
+    private static final String PATIENT_COLUMN = "patient.col";
+
+    /**
+     * Name of the column of provider ids.
+     */
+    private static final String PROVIDER_COLUMN = "provider.col";
+
+    /**
+     * Name of the column of imaging room ordinals.
+     */
+    private static final String ROOM_COLUMN = "room.col";
+
+    /**
+     * The column of dates.
+     */
+    private final Column dates;
+
+    /**
+     * The column of timeslot positions.
+     */
+    private final Column slots;
+
+    /**
+     * The column of patient ids.
+     */
+    private final Column patients;
+
+    /**
+     * The column of provider ids.
+     */
+    private final Column providers;
+
+    /**
+     * The column of imaging room ordinals.
+     */
+    private final Column rooms;
+
+    /**
+     * Number of rows in the archive.
+     */
+    private int size;
+
+    /**
+     * Number of rows the columns are mapped for.
+     */
+    private int capacity;
+
+    /**
+     * Constructs an empty archive with its column files in a directory.
+     *
+     * @param directory the directory of the column files
+     * @throws IOException if the files can't be created
+     */
+    private VisitArchive(Path directory) throws IOException {
+        this.capacity = INITIAL_ROWS;
+        this.dates = new Column(directory.resolve(DATE_COLUMN),
+                Integer.BYTES, capacity);
+        this.slots = new Column(directory.resolve(SLOT_COLUMN),
+                Byte.BYTES, capacity);
+        this.patients = new Column(directory.resolve(PATIENT_COLUMN),
+                Integer.BYTES, capacity);
+        this.providers = new Column(directory.resolve(PROVIDER_COLUMN),
+                Short.BYTES, capacity);
+        this.rooms = new Column(directory.resolve(ROOM_COLUMN),
+                Byte.BYTES, capacity);
+    }
+
+    /**
+     * Opens an empty archive in a directory. Column files left in the
+     * directory are truncated.
+     *
+     * @param directory the directory of the column files
+     * @return the archive
+     * @throws IOException if the files can't be created
+     */
+    public static VisitArchive open(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        return new VisitArchive(directory);
+    }
+
+    /**
+     * Appends a visit.
+     *
+     * @param epochDay the date of the visit as days since January 1, 1970
+     * @param slot     the position of the visit's timeslot
+     * @param patient  the id of the patient
+     * @param provider the id of the provider
+     * @param room     the ordinal of the imaging room, or {@link #NO_ROOM}
+     * @throws UncheckedIOException if the columns can't grow
+     */
+    public void add(int epochDay, int slot, int patient, int provider,
+                    byte room) {
+        if (size == capacity) { grow(); }
+        dates.buffer.putInt(size * Integer.BYTES, epochDay);
+        slots.buffer.put(size, (byte) slot);
+        patients.buffer.putInt(size * Integer.BYTES, patient);
+        providers.buffer.putShort(size * Short.BYTES, (short) provider);
+        rooms.buffer.put(size, room);
+        size++;
+    }
+
+    /**
+     * Doubles the number of rows the columns are mapped for.
+     *
+     * @throws UncheckedIOException if the files can't grow
+     */
+    private void grow() {
+        capacity *= 2;
+        try {
+            dates.map(capacity);
+            slots.map(capacity);
+            patients.map(capacity);
+            providers.map(capacity);
+            rooms.map(capacity);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Gets the number of visits in the archive.
+     *
+     * @return the number of visits
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the date of a visit.
+     *
+     * @param row the row of the visit
+     * @return the date as days since January 1, 1970
+     */
+    public int getDate(int row) {
+        return dates.buffer.getInt(checkRow(row) * Integer.BYTES);
+    }
+
+    /**
+     * Gets the timeslot position of a visit.
+     *
+     * @param row the row of the visit
+     * @return the position of the timeslot
+     */
+    public int getSlot(int row) {
+        return slots.buffer.get(checkRow(row));
+    }
+
+    /**
+     * Gets the patient id of a visit.
+     *
+     * @param row the row of the visit
+     * @return the id of the patient
+     */
+    public int getPatient(int row) {
+        return patients.buffer.getInt(checkRow(row) * Integer.BYTES);
+    }
+
+    /**
+     * Gets the provider id of a visit.
+     *
+     * @param row the row of the visit
+     * @return the id of the provider
+     */
+    public int getProvider(int row) {
+        return providers.buffer.getShort(checkRow(row) * Short.BYTES);
+    }
+
+    /**
+     * Gets the imaging room of a visit.
+     *
+     * @param row the row of the visit
+     * @return the ordinal of the room, or {@link #NO_ROOM}
+     */
+    public byte getRoom(int row) {
+        return rooms.buffer.get(checkRow(row));
+    }
+
+    /**
+     * Checks that a row is in the archive.
+     *
+     * @param row the row
+     * @return the row
+     * @throws IndexOutOfBoundsException if the row isn't in the archive
+     */
+    private int checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Invalid row: " + row);
+        }
+        return row;
+    }
+
+    /**
+     * Adds up the charges of every visit by patient, in one scan of the
+     * patient and provider columns.
+     *
+     * @param rates   the rate of each provider, indexed by provider id
+     * @param charges the total charge of each patient, indexed by patient
+     *                id, which the charges of the visits are added to
+     */
+    public void sumChargesByPatient(int[] rates, int[] charges) {
+        final MappedByteBuffer patientIds = patients.buffer;
+        final MappedByteBuffer providerIds = providers.buffer;
+        for (int row = 0; row < size; row++) {
+            charges[patientIds.getInt(row * Integer.BYTES)] +=
+                    rates[providerIds.getShort(row * Short.BYTES)];
+        }
+    }
+
+    /**
+     * Closes the column files. The mappings stay valid until they are
+     * garbage collected, but the archive must not be used any more.
+     *
+     * @throws IOException if a file can't be closed
+     */
+    @Override
+    public void close() throws IOException {
+        dates.channel.close();
+        slots.channel.close();
+        patients.channel.close();
+        providers.channel.close();
+        rooms.channel.close();
+    }
+
+    /**
+     * A column of fixed-width values mapped from a file.
+     */
+    private static final class Column {
+        /**
+         * The file of the column.
+         */
+        private final FileChannel channel;
+
+        /**
+         * Number of bytes of each value.
+         */
+        private final int width;
+
+        /**
+         * The mapping of the file.
+         */
+        private MappedByteBuffer buffer;
+
+        /**
+         * Creates an empty column file and maps it.
+         *
+         * @param path  the file of the column
+         * @param width number of bytes of each value
+         * @param rows  number of rows to map the file for
+         * @throws IOException if the file can't be created
+         */
+        private Column(Path path, int width, int rows) throws IOException {
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+            this.width = width;
+            map(rows);
+        }
+
+        /**
+         * Maps the file for a number of rows, growing it if needed.
+         *
+         * @param rows number of rows to map the file for
+         * @throws IOException if the file can't grow
+         */
+        private void map(int rows) throws IOException {
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                    (long) rows * width);
+        }
+    }
+}
@@ -15,8 +15,8 @@ import org.cs213.clinic.core.Provider;
 import org.cs213.clinic.core.Radiology;
 import org.cs213.clinic.core.Technician;
 import org.cs213.clinic.core.Timeslot;
+import org.cs213.clinic.core.TimeslotTable;
 import org.cs213.clinic.util.Format;
-import org.cs213.clinic.util.List;
 
 import java.io.File;
 import java.io.FileNotFoundException;
@@ -334,7 +334,7 @@ public class ClinicManagerController implements Initializable {
         newTimeslotMenu.getItems().clear();
         // 2. Get timeslots from your database
         // Wait for clinicManager to initialize
-        List<Timeslot> timeslots = clinicManager.getDatabase().getTimeslots();
+        TimeslotTable timeslots = clinicManager.getDatabase().getTimeslots();
         // 3. Add them to all relevant menus
         for (Timeslot timeslot : timeslots) {
             MenuItem item = new MenuItem(Format.get12Hour(timeslot));
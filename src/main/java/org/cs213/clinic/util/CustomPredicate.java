@@ -0,0 +1,23 @@
+package org.cs213.clinic.util;
+
+/**
+ * This CustomPredicate interface is used to define a condition that a
+ * generic object either meets or doesn't. This is primarily used by the
+ * containers to select the elements a bulk operation applies to.
+ *
+ * @param <T> the type of objects that this predicate can test
+ *
+ * @author Elian Deogracia-Brito
+ * @author Tiara Clyde
+ * @see List#removeIf(CustomPredicate)
+ */
+public interface CustomPredicate<T> {
+    /**
+     * This test() method is responsible for evaluating whether an element
+     * meets the condition.
+     *
+     * @param t the object to test
+     * @return true if the object meets the condition
+     */
+    boolean test(T t);
+}
@@ -1,5 +1,6 @@
 package org.cs213.clinic.util;
 
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 
@@ -25,6 +26,12 @@ public class List<E> implements Iterable<E> {
      */
     private int size;
 
+    /**
+     * Whether the objects array is shared with a {@link ListView}, in which
+     * case it is copied before an element a view can see is changed.
+     */
+    private boolean shared;
+
     /**
      * Default constructor that instantiates a List container with an initial
      * capacity of {@link ContainerConstants#INITIAL_CAPACITY}.
@@ -59,6 +66,31 @@ public class List<E> implements Iterable<E> {
         E[] newObjects = (E[]) new Object[objects.length * GROWTH_FACTOR];
         System.arraycopy(objects, 0, newObjects, 0, objects.length);
         objects = newObjects;
+        shared = false;
+    }
+
+    /**
+     * Copies the objects array if it is shared with a view, so that it can
+     * be changed without changing the view.
+     */
+    private void unshare() {
+        if (!shared) { return; }
+        objects = objects.clone();
+        shared = false;
+    }
+
+    /**
+     * Creates a read-only snapshot of the List. The snapshot shares the
+     * objects array instead of copying it, and the List copies the array
+     * before it next removes or replaces an element. Adding elements never
+     * changes what the snapshot sees.
+     *
+     * @return a view of the current elements
+     */
+    public ListView<E> view() {
+        if (size == 0) { return ListView.empty(); }
+        shared = true;
+        return new ListView<>(objects, size);
     }
 
     /**
@@ -90,11 +122,96 @@ public class List<E> implements Iterable<E> {
     public void remove(E e) {
         int index = find(e);
         if (index == INDEX_NOT_FOUND) { return; }
-        for (int i = index; i < objects.length - 1; i++) {
-            if (objects[i] == null) { break; }
-            objects[i] = objects[i + 1];
+        removeAt(index);
+    }
+
+    /**
+     * Remove the element at an index from the List container. The elements
+     * after it are moved down by one in a single copy.
+     *
+     * @param index the index of the element to remove
+     * @return the element removed
+     * @throws IndexOutOfBoundsException if the index is not within the List
+     */
+    public E removeAt(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Invalid index: " + index);
         }
-        size--;
+        unshare();
+        E removed = objects[index];
+        System.arraycopy(objects, index + 1, objects, index,
+                size - index - 1);
+        objects[--size] = null;
+        return removed;
+    }
+
+    /**
+     * Remove every element that meets the condition from the List container.
+     * The elements that are kept are compacted in a single pass and stay in
+     * the same order.
+     *
+     * @param predicate the condition of the elements to remove
+     * @return true if any element was removed
+     */
+    public boolean removeIf(CustomPredicate<? super E> predicate) {
+        int kept = 0;
+        while (kept < size && !predicate.test(objects[kept])) {
+            kept++;
+        }
+        if (kept == size) { return false; }
+        unshare();
+        for (int index = kept + 1; index < size; index++) {
+            E e = objects[index];
+            if (!predicate.test(e)) {
+                objects[kept++] = e;
+            }
+        }
+        Arrays.fill(objects, kept, size, null);
+        size = kept;
+        return true;
+    }
+
+    /**
+     * Grows the List container so it can hold at least the given number of
+     * elements, so that adding them doesn't grow it over and over.
+     *
+     * @param capacity the number of elements to make room for
+     */
+    public void ensureCapacity(int capacity) {
+        // add() grows once the load factor is reached, so leave room for it
+        final int needed = (int) Math.ceil(capacity / LOAD_FACTOR) + 1;
+        if (needed <= objects.length) { return; }
+        objects = Arrays.copyOf(objects,
+                Math.max(needed, objects.length * GROWTH_FACTOR));
+        shared = false;
+    }
+
+    /**
+     * Shrinks the capacity of the List container to its size, but never
+     * below {@link ContainerConstants#INITIAL_CAPACITY}, to release the
+     * memory of elements that were removed.
+     */
+    public void trimToSize() {
+        final int capacity = Math.max(size, INITIAL_CAPACITY);
+        if (capacity < objects.length) {
+            objects = Arrays.copyOf(objects, capacity);
+            shared = false;
+        }
+    }
+
+    /**
+     * Removes every element from the List container at once. The capacity
+     * is kept for the elements added next.
+     */
+    @SuppressWarnings("unchecked")
+    public void clear() {
+        if (shared) {
+            objects = (E[]) new Object[objects.length];
+            shared = false;
+        } else {
+            Arrays.fill(objects, 0, size, null);
+        }
+        size = INITIAL_SIZE;
     }
 
     /**
@@ -142,9 +259,23 @@ public class List<E> implements Iterable<E> {
      * @param index the index to insert in
      */
     public void set(E elem, int index) {
+        unshare();
         objects[index] = elem;
     }
 
+    /**
+     * Gets the array backing the List so that algorithms within this package,
+     * such as {@link Sort}, can work on the elements in place. Only the first
+     * {@link #size()} elements are in use. The array is copied first if a
+     * view shares it.
+     *
+     * @return the backing array of the List
+     */
+    E[] elements() {
+        unshare();
+        return objects;
+    }
+
     /**
      * Returns the index of the element to search for.
      *
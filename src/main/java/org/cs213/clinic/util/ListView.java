@@ -0,0 +1,174 @@
+package org.cs213.clinic.util;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import static org.cs213.clinic.util.ContainerConstants.*;
+
+/**
+ * Read-only snapshot of a {@link List}, created by {@link List#view()}. The
+ * view shares the backing array of the List instead of copying it; the List
+ * copies its array before it next changes an element the view can see, so
+ * the view keeps the elements it was created with no matter what happens to
+ * the List afterwards. Creating a view costs the same no matter how many
+ * elements the List holds.
+ *
+ * @param <E> the ListView's element type
+ *
+ * @author Elian Deogracia-Brito
+ * @author Tiara Clyde
+ */
+public final class ListView<E> implements Iterable<E> {
+    /**
+     * The view with no elements.
+     */
+    private static final ListView<?> EMPTY =
+            new ListView<>(new Object[0], INITIAL_SIZE);
+
+    /**
+     * The array shared with the List; only the first size elements are in
+     * the view.
+     */
+    private final E[] objects;
+
+    /**
+     * Represents the number of elements in the view.
+     */
+    private final int size;
+
+    /**
+     * Constructs a view of the first elements of an array that will never
+     * change.
+     *
+     * @param objects the shared array
+     * @param size    the number of elements in the view
+     */
+    ListView(E[] objects, int size) {
+        this.objects = objects;
+        this.size = size;
+    }
+
+    /**
+     * Gets the view with no elements.
+     *
+     * @param <E> the element type
+     * @return the empty view
+     */
+    @SuppressWarnings("unchecked")
+    public static <E> ListView<E> empty() {
+        return (ListView<E>) EMPTY;
+    }
+
+    /**
+     * Gets the specified object at a specific index.
+     *
+     * @param index the index
+     * @return the object at the specific index
+     * @throws IndexOutOfBoundsException if the index is not within the view
+     */
+    public E get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Invalid index: " + index);
+        }
+        return objects[index];
+    }
+
+    /**
+     * Get size of the view; the number of elements contained.
+     *
+     * @return the size of the view
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks if the view is empty.
+     *
+     * @return if the view is empty as a boolean value
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the index of the element to search for.
+     *
+     * @param elem the element to search for
+     * @return index of the element found, otherwise
+     *         {@link ContainerConstants#INDEX_NOT_FOUND}
+     */
+    public int indexOf(E elem) {
+        for (int index = 0; index < size; index++) {
+            if (objects[index].equals(elem)) {
+                return index;
+            }
+        }
+        return INDEX_NOT_FOUND;
+    }
+
+    /**
+     * Checks if the view contains an element.
+     *
+     * @param e the element to search for
+     * @return a boolean value representing whether the element was found
+     */
+    public boolean contains(E e) {
+        return indexOf(e) != INDEX_NOT_FOUND;
+    }
+
+    /**
+     * Copies the elements of the view into a new List that can be changed,
+     * for example to sort it.
+     *
+     * @return a List of the elements in the same order
+     */
+    public List<E> toList() {
+        List<E> list = new List<>();
+        list.ensureCapacity(size);
+        for (int index = 0; index < size; index++) {
+            list.add(objects[index]);
+        }
+        return list;
+    }
+
+    /**
+     * Returns an iterator over elements of type {@code E}.
+     *
+     * @return an Iterator.
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<>() {
+            /**
+             * Keep track of current index of element.
+             */
+            private int index = 0;
+
+            /**
+             * Returns {@code true} if the iteration has more elements.
+             *
+             * @return {@code true} if the iteration has more elements
+             */
+            @Override
+            public boolean hasNext() {
+                return index < size;
+            }
+
+            /**
+             * Returns the next element in the iteration.
+             *
+             * @return the next element in the iteration
+             * @throws NoSuchElementException if the iteration has no more
+             *         elements
+             */
+            @Override
+            public E next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return objects[index++];
+            }
+        };
+    }
+}
@@ -0,0 +1,233 @@
+package org.cs213.clinic.util;
+
+import static org.cs213.clinic.util.ContainerConstants.*;
+
+/**
+ * Unordered collection of key-value pairs backed by a hash table with
+ * separate chaining. Keys are compared with equals() and located with
+ * hashCode(), so key types must override both consistently. The table grows
+ * by {@link ContainerConstants#GROWTH_FACTOR} once the
+ * {@link ContainerConstants#LOAD_FACTOR} is reached.
+ *
+ * @param <K> the Map's key type
+ * @param <V> the Map's value type
+ *
+ * @author Elian Deogracia-Brito
+ * @author Tiara Clyde
+ */
+public class Map<K, V> {
+    /**
+     * Buckets of entries; the table length is always a power of two.
+     */
+    private Entry<K, V>[] table;
+
+    /**
+     * Represents the current number of entries contained, not capacity.
+     */
+    private int size;
+
+    /**
+     * Default constructor that instantiates a Map container with an initial
+     * capacity of {@link ContainerConstants#INITIAL_CAPACITY}.
+     */
+    @SuppressWarnings("unchecked")
+    public Map() {
+        table = (Entry<K, V>[]) new Entry<?, ?>[INITIAL_CAPACITY];
+        size = INITIAL_SIZE;
+    }
+
+    /**
+     * Spreads the higher bits of the hash code into the lower bits so that
+     * masking with the table length keeps a good distribution.
+     *
+     * @param key the key to hash
+     * @return the spread hash of the key
+     */
+    private static int hash(Object key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Finds the entry holding the key.
+     *
+     * @param key the key to look for
+     * @return the entry found, otherwise null
+     */
+    private Entry<K, V> find(Object key) {
+        final int hash = hash(key);
+        Entry<K, V> entry = table[hash & (table.length - 1)];
+        while (entry != null) {
+            if (entry.hash == hash && entry.key.equals(key)) {
+                return entry;
+            }
+            entry = entry.next;
+        }
+        return null;
+    }
+
+    /**
+     * Grow the table by {@link ContainerConstants#GROWTH_FACTOR} and
+     * redistribute every entry into its new bucket.
+     */
+    @SuppressWarnings("unchecked")
+    private void grow() {
+        Entry<K, V>[] newTable =
+            (Entry<K, V>[]) new Entry<?, ?>[table.length * GROWTH_FACTOR];
+        for (Entry<K, V> head : table) {
+            Entry<K, V> entry = head;
+            while (entry != null) {
+                Entry<K, V> next = entry.next;
+                int index = entry.hash & (newTable.length - 1);
+                entry.next = newTable[index];
+                newTable[index] = entry;
+                entry = next;
+            }
+        }
+        table = newTable;
+    }
+
+    /**
+     * Gets the value mapped to the key.
+     *
+     * @param key the key to look up
+     * @return the value mapped to the key, or null if there is none
+     */
+    public V get(Object key) {
+        Entry<K, V> entry = find(key);
+        return entry == null ? null : entry.value;
+    }
+
+    /**
+     * Checks if the Map contains a mapping for the key.
+     *
+     * @param key the key to search for
+     * @return a boolean value representing whether the key was found
+     */
+    public boolean containsKey(Object key) {
+        return find(key) != null;
+    }
+
+    /**
+     * Maps the key to the value, replacing any previous mapping, and resizes
+     * accordingly.
+     *
+     * @param key   the key to map
+     * @param value the value to map the key to
+     * @return the value previously mapped to the key, or null if there was
+     *         none
+     */
+    public V put(K key, V value) {
+        Entry<K, V> entry = find(key);
+        if (entry != null) {
+            V previous = entry.value;
+            entry.value = value;
+            return previous;
+        }
+
+        final double ratio = (double) size / table.length;
+        if (ratio >= LOAD_FACTOR) grow();
+        final int hash = hash(key);
+        final int index = hash & (table.length - 1);
+        table[index] = new Entry<>(key, value, hash, table[index]);
+        size++;
+        return null;
+    }
+
+    /**
+     * Removes the mapping for the key from the Map container.
+     *
+     * @param key the key to remove
+     * @return the value that was mapped to the key, or null if there was none
+     */
+    public V remove(Object key) {
+        final int hash = hash(key);
+        final int index = hash & (table.length - 1);
+        Entry<K, V> previous = null;
+        Entry<K, V> entry = table[index];
+        while (entry != null) {
+            if (entry.hash == hash && entry.key.equals(key)) {
+                if (previous == null) {
+                    table[index] = entry.next;
+                } else {
+                    previous.next = entry.next;
+                }
+                size--;
+                return entry.value;
+            }
+            previous = entry;
+            entry = entry.next;
+        }
+        return null;
+    }
+
+    /**
+     * Removes every mapping from the Map container.
+     */
+    @SuppressWarnings("unchecked")
+    public void clear() {
+        table = (Entry<K, V>[]) new Entry<?, ?>[INITIAL_CAPACITY];
+        size = INITIAL_SIZE;
+    }
+
+    /**
+     * Checks if the Map collection is empty.
+     *
+     * @return if Map is empty as a boolean value
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Get size of the Map; the number of mappings contained.
+     *
+     * @return the size of Map
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * A single key-value pair chained within a bucket of the table.
+     *
+     * @param <K> key type
+     * @param <V> value type
+     */
+    private static class Entry<K, V> {
+        /**
+         * The key of the mapping.
+         */
+        private final K key;
+
+        /**
+         * The cached spread hash of the key.
+         */
+        private final int hash;
+
+        /**
+         * The value of the mapping.
+         */
+        private V value;
+
+        /**
+         * The next entry in the same bucket.
+         */
+        private Entry<K, V> next;
+
+        /**
+         * Constructs an entry at the head of a bucket.
+         *
+         * @param key   the key of the mapping
+         * @param value the value of the mapping
+         * @param hash  the spread hash of the key
+         * @param next  the previous head of the bucket
+         */
+        private Entry(K key, V value, int hash, Entry<K, V> next) {
+            this.key = key;
+            this.value = value;
+            this.hash = hash;
+            this.next = next;
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package org.cs213.clinic.util;
+
+/**
+ * Growable bitmap that records which slots of which days are occupied. Each
+ * day owns a fixed number of slots and the bits of a day are stored next to
+ * each other, so checking, marking and clearing a (day, slot) pair are single
+ * bit operations with no allocation. The covered range of days grows in
+ * either direction as days outside of it are marked.
+ *
+ * @author Elian Deogracia-Brito
+ * @author Tiara Clyde
+ */
+public class OccupancyBitmap {
+    /**
+     * Number of bits held by each word.
+     */
+    private static final int BITS_PER_WORD = Long.SIZE;
+
+    /**
+     * Number of days covered when the first day is marked.
+     */
+    private static final int INITIAL_DAYS = 32;
+
+    /**
+     * Number of slots each day owns.
+     */
+    private final int slotsPerDay;
+
+    /**
+     * Number of words each day owns.
+     */
+    private final int wordsPerDay;
+
+    /**
+     * The bits of every covered day in order of the day.
+     */
+    private long[] words;
+
+    /**
+     * The first day covered by the words.
+     */
+    private int origin;
+
+    /**
+     * Number of bits currently marked.
+     */
+    private int cardinality;
+
+    /**
+     * Constructs an empty bitmap where every day owns the given number of
+     * slots.
+     *
+     * @param slotsPerDay the number of slots in a day
+     */
+    public OccupancyBitmap(int slotsPerDay) {
+        if (slotsPerDay <= 0) throw new IllegalArgumentException();
+        this.slotsPerDay = slotsPerDay;
+        this.wordsPerDay = (slotsPerDay + BITS_PER_WORD - 1) / BITS_PER_WORD;
+        this.words = new long[0];
+    }
+
+    /**
+     * Gets the index of the word that holds the slot of a day.
+     *
+     * @param day  the day
+     * @param slot the slot of the day
+     * @return the word index, which is out of bounds if the day is not
+     *         covered
+     */
+    private int wordIndex(int day, int slot) {
+        return (day - origin) * wordsPerDay + slot / BITS_PER_WORD;
+    }
+
+    /**
+     * Checks that the slot exists within a day.
+     *
+     * @param slot the slot to check
+     */
+    private void checkSlot(int slot) {
+        if (slot < 0 || slot >= slotsPerDay) {
+            throw new IndexOutOfBoundsException("Invalid slot: " + slot);
+        }
+    }
+
+    /**
+     * Grows the covered range of days by {@link ContainerConstants#GROWTH_FACTOR}
+     * until it includes the day.
+     *
+     * @param day the day that must be covered
+     */
+    private void cover(int day) {
+        int days = words.length / wordsPerDay;
+        if (days == 0) {
+            words = new long[INITIAL_DAYS * wordsPerDay];
+            origin = day - INITIAL_DAYS / 2;
+            return;
+        }
+
+        int first = origin, last = origin + days - 1;
+        while (day < first || day > last) {
+            int extra = days * (ContainerConstants.GROWTH_FACTOR - 1);
+            if (day < first) {
+                first -= extra;
+            } else {
+                last += extra;
+            }
+            days += extra;
+        }
+
+        long[] newWords = new long[days * wordsPerDay];
+        System.arraycopy(words, 0, newWords,
+                (origin - first) * wordsPerDay, words.length);
+        words = newWords;
+        origin = first;
+    }
+
+    /**
+     * Checks if the slot of the day is marked as occupied.
+     *
+     * @param day  the day
+     * @param slot the slot of the day
+     * @return true if the slot is occupied
+     */
+    public boolean get(int day, int slot) {
+        checkSlot(slot);
+        int index = wordIndex(day, slot);
+        if (day < origin || index >= words.length) { return false; }
+        return (words[index] & (1L << (slot % BITS_PER_WORD))) != 0;
+    }
+
+    /**
+     * Marks the slot of the day as occupied.
+     *
+     * @param day  the day
+     * @param slot the slot of the day
+     * @return true if the slot was previously free
+     */
+    public boolean set(int day, int slot) {
+        checkSlot(slot);
+        if (day < origin || wordIndex(day, slot) >= words.length) {
+            cover(day);
+        }
+        int index = wordIndex(day, slot);
+        long mask = 1L << (slot % BITS_PER_WORD);
+        if ((words[index] & mask) != 0) { return false; }
+        words[index] |= mask;
+        cardinality++;
+        return true;
+    }
+
+    /**
+     * Marks the slot of the day as free.
+     *
+     * @param day  the day
+     * @param slot the slot of the day
+     * @return true if the slot was previously occupied
+     */
+    public boolean clear(int day, int slot) {
+        checkSlot(slot);
+        int index = wordIndex(day, slot);
+        if (day < origin || index >= words.length) { return false; }
+        long mask = 1L << (slot % BITS_PER_WORD);
+        if ((words[index] & mask) == 0) { return false; }
+        words[index] &= ~mask;
+        cardinality--;
+        return true;
+    }
+
+    /**
+     * Marks every slot of every day as free.
+     */
+    public void clear() {
+        words = new long[0];
+        origin = 0;
+        cardinality = 0;
+    }
+
+    /**
+     * Gets the number of occupied slots across all days.
+     *
+     * @return the number of occupied slots
+     */
+    public int cardinality() {
+        return cardinality;
+    }
+
+    /**
+     * Checks if no slot of any day is occupied.
+     *
+     * @return if the bitmap is empty as a boolean value
+     */
+    public boolean isEmpty() {
+        return cardinality == 0;
+    }
+}
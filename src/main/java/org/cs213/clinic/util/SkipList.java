@@ -0,0 +1,252 @@
+package org.cs213.clinic.util;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Collection that keeps its elements ordered by a CustomComparator as they are
+ * added and removed. Elements are held in a skip list, so adding and removing
+ * take logarithmic time on average while iterating walks the elements in
+ * order. Elements that compare equal are kept in the order they were added.
+ *
+ * @param <E> the SkipList's element type
+ *
+ * @author Elian Deogracia-Brito
+ * @author Tiara Clyde
+ */
+public class SkipList<E> implements Iterable<E> {
+    /**
+     * The maximum number of levels a node can be linked on.
+     */
+    private static final int MAX_LEVEL = 32;
+
+    /**
+     * The order the elements are kept in.
+     */
+    private final CustomComparator<? super E> comparator;
+
+    /**
+     * Sentinel node that begins every level.
+     */
+    private final Node<E> head;
+
+    /**
+     * The number of levels currently in use.
+     */
+    private int level;
+
+    /**
+     * Represents the current number of elements contained.
+     */
+    private int size;
+
+    /**
+     * State of the generator that picks the level of new nodes.
+     */
+    private long seed;
+
+    /**
+     * Constructs an empty SkipList ordered by the comparator.
+     *
+     * @param comparator the order to keep elements in
+     */
+    public SkipList(CustomComparator<? super E> comparator) {
+        this.comparator = comparator;
+        this.head = new Node<>(null, MAX_LEVEL);
+        this.level = 1;
+        this.size = ContainerConstants.INITIAL_SIZE;
+        this.seed = 0x9E3779B97F4A7C15L;
+    }
+
+    /**
+     * Picks the number of levels for a new node, where each additional level
+     * is half as likely as the previous one.
+     *
+     * @return the number of levels for the node
+     */
+    private int randomLevel() {
+        seed ^= seed << 13;
+        seed ^= seed >>> 7;
+        seed ^= seed << 17;
+        int levels = Long.numberOfTrailingZeros(seed | (1L << (MAX_LEVEL - 1)))
+                + 1;
+        return Math.min(levels, MAX_LEVEL);
+    }
+
+    /**
+     * Add element to the SkipList after every element it is not less than.
+     *
+     * @param e element to add
+     */
+    @SuppressWarnings("unchecked")
+    public void add(E e) {
+        Node<E>[] update = (Node<E>[]) new Node<?>[MAX_LEVEL];
+        Node<E> node = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (node.next[i] != null &&
+                    comparator.compare(node.next[i].value, e) <= 0) {
+                node = node.next[i];
+            }
+            update[i] = node;
+        }
+
+        int levels = randomLevel();
+        if (levels > level) {
+            for (int i = level; i < levels; i++) {
+                update[i] = head;
+            }
+            level = levels;
+        }
+
+        Node<E> added = new Node<>(e, levels);
+        for (int i = 0; i < levels; i++) {
+            added.next[i] = update[i].next[i];
+            update[i].next[i] = added;
+        }
+        size++;
+    }
+
+    /**
+     * Remove the element instance from the SkipList container. Only the same
+     * instance is removed, even if other elements compare equal to it.
+     *
+     * @param e element to remove
+     * @return true if the element was found and removed
+     */
+    @SuppressWarnings("unchecked")
+    public boolean remove(E e) {
+        Node<E>[] update = (Node<E>[]) new Node<?>[MAX_LEVEL];
+        Node<E> node = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (node.next[i] != null &&
+                    comparator.compare(node.next[i].value, e) < 0) {
+                node = node.next[i];
+            }
+            update[i] = node;
+        }
+
+        Node<E> target = update[0].next[0];
+        while (target != null && target.value != e) {
+            if (comparator.compare(target.value, e) != 0) { return false; }
+            target = target.next[0];
+        }
+        if (target == null) { return false; }
+
+        for (int i = 0; i < target.next.length; i++) {
+            Node<E> previous = update[i];
+            while (previous.next[i] != target) {
+                previous = previous.next[i];
+            }
+            previous.next[i] = target.next[i];
+        }
+        while (level > 1 && head.next[level - 1] == null) {
+            level--;
+        }
+        size--;
+        return true;
+    }
+
+    /**
+     * Removes every element from the SkipList container.
+     */
+    public void clear() {
+        for (int i = 0; i < MAX_LEVEL; i++) {
+            head.next[i] = null;
+        }
+        level = 1;
+        size = ContainerConstants.INITIAL_SIZE;
+    }
+
+    /**
+     * Checks if the SkipList collection is empty.
+     *
+     * @return if SkipList is empty as a boolean value
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Get size of the SkipList; the number of elements contained.
+     *
+     * @return the size of SkipList
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns an iterator over the elements in order.
+     *
+     * @return an Iterator.
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new SkipListIterator();
+    }
+
+    /**
+     * A single element linked on one or more levels.
+     *
+     * @param <E> element type
+     */
+    private static class Node<E> {
+        /**
+         * The element held by the node.
+         */
+        private final E value;
+
+        /**
+         * The following node on each level the node is linked on.
+         */
+        private final Node<E>[] next;
+
+        /**
+         * Constructs a node that is linked on the given number of levels.
+         *
+         * @param value  the element held by the node
+         * @param levels the number of levels
+         */
+        @SuppressWarnings("unchecked")
+        private Node(E value, int levels) {
+            this.value = value;
+            this.next = (Node<E>[]) new Node<?>[levels];
+        }
+    }
+
+    /**
+     * Responsible for iterating through the elements in order.
+     */
+    private class SkipListIterator implements Iterator<E> {
+        /**
+         * The node holding the next element.
+         */
+        private Node<E> node = head.next[0];
+
+        /**
+         * Returns {@code true} if the iteration has more elements.
+         *
+         * @return {@code true} if the iteration has more elements
+         */
+        @Override
+        public boolean hasNext() {
+            return node != null;
+        }
+
+        /**
+         * Returns the next element in the iteration.
+         *
+         * @return the next element in the iteration
+         * @throws NoSuchElementException if the iteration has no more elements
+         */
+        @Override
+        public E next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            E value = node.value;
+            node = node.next[0];
+            return value;
+        }
+    }
+}
@@ -1,136 +1,315 @@
 package org.cs213.clinic.util;
 
+import java.io.Serial;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
 /**
  * This Sort class defines common sorting algorithms and furthermore common
- * actions when it comes to implementing custom sorting solutions.
- * 
+ * actions when it comes to implementing custom sorting solutions. Sorting is
+ * done with an adaptive, stable merge sort: the input is split into naturally
+ * ordered runs which are then merged, so input that is already sorted or
+ * nearly sorted is handled in close to linear time.
+ *
  * @author Elian Deogracia-Brito
  * @author Tiara Clyde
  */
 public class Sort {
+    /**
+     * Minimum length of a run. Shorter runs are extended with binary
+     * insertion sort before merging.
+     */
+    private static final int MIN_RUN = 32;
 
     /**
-     * Takes a list and turns it into an array and calls bubbleSort to sort
+     * Number of elements at or below which the parallel sort stops splitting
+     * the work and sorts sequentially.
+     */
+    private static final int PARALLEL_THRESHOLD = 1 << 13;
+
+    /**
+     * Takes a list and turns it into an array and calls mergeSort to sort
      * the array.
      *
      * @param list the list to sort
      * @param <T> the type of elements in the list
      * @return the sorted array
      */
-
     public static <T extends Comparable<? super T>> T[] sortList(
         List<T> list) {
         @SuppressWarnings("unchecked")
-        T[] array = (T[]) new Object[list.size()];
+        T[] array = (T[]) new Comparable<?>[list.size()];
         for (int i = 0; i < list.size(); i++) {
             array[i] = list.get(i);
         }
-        bubbleSort(array);
+        mergeSort(array);
 
         return array;
     }
 
     /**
      * Sorts a list using the Comparable implementation of the elements.
-     * Follows the bubble sort algorithm implemented in place using converting
+     * Follows the merge sort algorithm implemented in place using converting
      * the Comparable interface into CustomComparator.
      *
      * @param <T>   the type of the elements in the list
      * @param list the list to sort
      * @see CustomComparator
      */
-    public static <T extends Comparable<? super T>> void bubbleSort(
+    public static <T extends Comparable<? super T>> void mergeSort(
         List<T> list) {
-        bubbleSort(list, (a, b) -> a.compareTo(b));
+        mergeSort(list, (a, b) -> a.compareTo(b));
     }
 
-
     /**
-     * Sorts a list using bubble sort in place using the provided comparator.
-     * Bubble sort repeatedly steps through the list, compares adjacent
-     * elements and swaps them if they are in the wrong order. The
-     * CustomComparator interface is used to define the implementation of the
-     * comparator.
+     * Sorts a list in place using the provided comparator. The sort is
+     * stable, so elements the comparator considers equal keep their relative
+     * order. The CustomComparator interface is used to define the
+     * implementation of the comparator.
      *
      * @param list       the list to get contents from
      * @param comparator algorithm to order by
      * @param <T>        type of items in list
      */
-    public static <T extends Comparable<? super T>> void bubbleSort(
+    public static <T> void mergeSort(
             List<T> list, CustomComparator<? super T> comparator) {
-        boolean swapped;
-        int unsorted = list.size();
-        for (int left = 0; left < unsorted - 1; left++) {
-            swapped = false;
-            for (int right = 0; right < unsorted - left - 1; right++) {
-                int comparison = comparator.compare(list.get(right),
-                    list.get(right + 1));
-                if (comparison > 0) {
-                    swap(list, right, right + 1);
-                    swapped = true;
-                }
-            }
-            if (!swapped)
-                break;
-        }
-    }
-
-    /**
-     * Swaps to elements within a generic list given their indices.
-     *
-     * @param <T>    the type of the elements in the array
-     * @param list  the list that contains the elements
-     * @param indexA the first element index
-     * @param indexB the second element index
-     */
-    private static <T> void swap(List<T> list, int indexA, int indexB) {
-        T cache = list.get(indexA);
-        list.set(list.get(indexB), indexA);
-        list.set(cache, indexB);
+        mergeSort(list.elements(), 0, list.size(), comparator);
     }
 
     /**
      * Sorts an array using the Comparable implementation of the elements.
-     * Follows the bubble sort algorithm implemented in place using converting
+     * Follows the merge sort algorithm implemented in place using converting
      * the Comparable interface into CustomComparator.
      *
      * @param <T>   the type of the elements in the array
      * @param array the array to sort
      * @see CustomComparator
      */
-    public static <T extends Comparable<? super T>> void bubbleSort(
+    public static <T extends Comparable<? super T>> void mergeSort(
         T[] array) {
-        bubbleSort(array, (a, b) -> a.compareTo(b));
+        mergeSort(array, (a, b) -> a.compareTo(b));
     }
 
     /**
-     * Sorts an array using bubble sort in place using the provided comparator.
-     * Bubble sort repeatedly steps through the list, compares adjacent
-     * elements and swaps them if they are in the wrong order. The
-     * CustomComparator interface is used to define the implementation of the
-     * comparator.
+     * Sorts an array in place using the provided comparator. The sort is
+     * stable, so elements the comparator considers equal keep their relative
+     * order. The CustomComparator interface is used to define the
+     * implementation of the comparator.
      *
      * @param <T>        the type of elements in the array
      * @param array      the array to sort
      * @param comparator the comparator to used to compare elements
      * @see CustomComparator
      */
-    public static <T> void bubbleSort(
+    public static <T> void mergeSort(
         T[] array, CustomComparator<? super T> comparator) {
-        boolean swapped;
-        int unsorted = array.length;
-        for (int left = 0; left < unsorted - 1; left++) {
-            swapped = false;
-            for (int right = 0; right < unsorted - left - 1; right++) {
-                int comparison = comparator.compare(array[right],
-                    array[right + 1]);
-                if (comparison > 0) {
-                    swap(array, right, right + 1);
-                    swapped = true;
+        mergeSort(array, 0, array.length, comparator);
+    }
+
+    /**
+     * Sorts an array in place using the provided comparator, splitting large
+     * arrays across the common fork-join pool. Each part is merge sorted on
+     * its own and the parts are then merged, which gives the same stable
+     * ordering as {@link #mergeSort(Object[], CustomComparator)}. The
+     * comparator must be safe to call from several threads.
+     *
+     * @param <T>        the type of elements in the array
+     * @param array      the array to sort
+     * @param comparator the comparator to used to compare elements
+     */
+    public static <T> void parallelMergeSort(
+        T[] array, CustomComparator<? super T> comparator) {
+        if (array.length <= PARALLEL_THRESHOLD) {
+            mergeSort(array, comparator);
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        T[] buffer = (T[]) new Object[array.length];
+        ForkJoinPool.commonPool().invoke(new ParallelMergeSort<>(
+                array, buffer, 0, array.length, comparator));
+    }
+
+    /**
+     * Sorts a list in place using the provided comparator, splitting large
+     * lists across the common fork-join pool.
+     *
+     * @param <T>        the type of elements in the list
+     * @param list       the list to sort
+     * @param comparator the comparator to used to compare elements
+     * @see #parallelMergeSort(Object[], CustomComparator)
+     */
+    public static <T> void parallelMergeSort(
+        List<T> list, CustomComparator<? super T> comparator) {
+        T[] elements = list.elements();
+        if (list.size() <= PARALLEL_THRESHOLD) {
+            mergeSort(elements, 0, list.size(), comparator);
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        T[] buffer = (T[]) new Object[list.size()];
+        ForkJoinPool.commonPool().invoke(new ParallelMergeSort<>(
+                elements, buffer, 0, list.size(), comparator));
+    }
+
+    /**
+     * Sorts the range [from, to) of an array. The range is divided into
+     * ascending runs, where strictly descending runs are reversed and runs
+     * shorter than {@link #MIN_RUN} are extended by insertion. Adjacent runs
+     * are then merged pairwise until a single run remains.
+     *
+     * @param <T>        the type of elements in the array
+     * @param array      the array to sort
+     * @param from       the first index of the range, inclusive
+     * @param to         the last index of the range, exclusive
+     * @param comparator the comparator to used to compare elements
+     */
+    private static <T> void mergeSort(T[] array, int from, int to,
+                                      CustomComparator<? super T> comparator) {
+        final int length = to - from;
+        if (length < 2) { return; }
+
+        int[] runs = new int[length / MIN_RUN + 2];
+        int count = 0;
+        int start = from;
+        while (start < to) {
+            int end = findRun(array, start, to, comparator);
+            int forced = Math.min(to, start + MIN_RUN);
+            if (end < forced) {
+                insertionSort(array, start, end, forced, comparator);
+                end = forced;
+            }
+            runs[count++] = start;
+            start = end;
+        }
+        runs[count] = to;
+        if (count == 1) { return; }
+
+        @SuppressWarnings("unchecked")
+        T[] buffer = (T[]) new Object[length];
+        while (count > 1) {
+            int merged = 0;
+            for (int run = 0; run < count; run += 2) {
+                int lo = runs[run];
+                if (run + 1 < count) {
+                    merge(array, buffer, 0, lo, runs[run + 1], runs[run + 2],
+                            comparator);
+                }
+                runs[merged++] = lo;
+            }
+            runs[merged] = to;
+            count = merged;
+        }
+    }
+
+    /**
+     * Finds the end of the run that begins at the start index. A strictly
+     * descending run is reversed in place so that every run found is
+     * ascending; equal elements never begin a descending run, which keeps the
+     * sort stable.
+     *
+     * @param <T>        the type of elements in the array
+     * @param array      the array containing the run
+     * @param start      the first index of the run
+     * @param to         the end of the range being sorted, exclusive
+     * @param comparator the comparator to used to compare elements
+     * @return the index after the last element of the run
+     */
+    private static <T> int findRun(T[] array, int start, int to,
+                                   CustomComparator<? super T> comparator) {
+        int end = start + 1;
+        if (end == to) { return end; }
+
+        if (comparator.compare(array[end], array[start]) < 0) {
+            end++;
+            while (end < to &&
+                    comparator.compare(array[end], array[end - 1]) < 0) {
+                end++;
+            }
+            reverse(array, start, end);
+        } else {
+            end++;
+            while (end < to &&
+                    comparator.compare(array[end], array[end - 1]) >= 0) {
+                end++;
+            }
+        }
+        return end;
+    }
+
+    /**
+     * Extends the sorted range [from, sorted) to [from, to) by inserting each
+     * following element after every element that is not greater than it. The
+     * insertion point is found with a binary search.
+     *
+     * @param <T>        the type of elements in the array
+     * @param array      the array to sort
+     * @param from       the first index of the range, inclusive
+     * @param sorted     the end of the sorted prefix, exclusive
+     * @param to         the last index of the range, exclusive
+     * @param comparator the comparator to used to compare elements
+     */
+    private static <T> void insertionSort(T[] array, int from, int sorted,
+                                          int to,
+                                          CustomComparator<? super T> comparator) {
+        for (int index = sorted; index < to; index++) {
+            T pivot = array[index];
+            int left = from, right = index;
+            while (left < right) {
+                int mid = (left + right) >>> 1;
+                if (comparator.compare(pivot, array[mid]) < 0) {
+                    right = mid;
+                } else {
+                    left = mid + 1;
                 }
             }
-            if (!swapped)
-                break;
+            System.arraycopy(array, left, array, left + 1, index - left);
+            array[left] = pivot;
+        }
+    }
+
+    /**
+     * Merges the adjacent sorted ranges [lo, mid) and [mid, hi). When the
+     * ranges are already in order nothing is copied. Elements of the left
+     * range come first when elements compare equal.
+     *
+     * @param <T>        the type of elements in the array
+     * @param array      the array containing both ranges
+     * @param buffer     scratch space for a copy of the left range
+     * @param offset     the index of the buffer to copy the left range to
+     * @param lo         the first index of the left range
+     * @param mid        the first index of the right range
+     * @param hi         the end of the right range, exclusive
+     * @param comparator the comparator to used to compare elements
+     */
+    private static <T> void merge(T[] array, T[] buffer, int offset, int lo,
+                                  int mid, int hi,
+                                  CustomComparator<? super T> comparator) {
+        if (comparator.compare(array[mid - 1], array[mid]) <= 0) { return; }
+
+        final int leftEnd = offset + mid - lo;
+        System.arraycopy(array, lo, buffer, offset, mid - lo);
+        int left = offset, right = mid, dest = lo;
+        while (left < leftEnd && right < hi) {
+            if (comparator.compare(array[right], buffer[left]) < 0) {
+                array[dest++] = array[right++];
+            } else {
+                array[dest++] = buffer[left++];
+            }
+        }
+        System.arraycopy(buffer, left, array, dest, leftEnd - left);
+    }
+
+    /**
+     * Reverses the order of the range [from, to) of an array.
+     *
+     * @param <T>   the type of the elements in the array
+     * @param array the array that contains the elements
+     * @param from  the first index of the range, inclusive
+     * @param to    the last index of the range, exclusive
+     */
+    private static <T> void reverse(T[] array, int from, int to) {
+        for (int left = from, right = to - 1; left < right; left++, right--) {
+            swap(array, left, right);
         }
     }
 
@@ -148,9 +327,83 @@ public class Sort {
         array[indexB] = cache;
     }
 
+    /**
+     * Fork-join task that sorts a range of an array by sorting both halves
+     * concurrently and merging them.
+     *
+     * @param <T> the type of elements in the array
+     */
+    private static class ParallelMergeSort<T> extends RecursiveAction {
+        /**
+         * Version of the serialized form of the task.
+         */
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * The array to sort.
+         */
+        private final T[] array;
+
+        /**
+         * Scratch space shared by all tasks; each task only uses its range.
+         */
+        private final T[] buffer;
+
+        /**
+         * The first index of the range, inclusive.
+         */
+        private final int from;
+
+        /**
+         * The last index of the range, exclusive.
+         */
+        private final int to;
+
+        /**
+         * The comparator to order elements by.
+         */
+        private final CustomComparator<? super T> comparator;
+
+        /**
+         * Constructs a task for the range [from, to) of the array.
+         *
+         * @param array      the array to sort
+         * @param buffer     scratch space as long as the array
+         * @param from       the first index of the range, inclusive
+         * @param to         the last index of the range, exclusive
+         * @param comparator the comparator to order elements by
+         */
+        private ParallelMergeSort(T[] array, T[] buffer, int from, int to,
+                                  CustomComparator<? super T> comparator) {
+            this.array = array;
+            this.buffer = buffer;
+            this.from = from;
+            this.to = to;
+            this.comparator = comparator;
+        }
+
+        /**
+         * Sorts the range, splitting it while it is above the
+         * {@link Sort#PARALLEL_THRESHOLD}.
+         */
+        @Override
+        protected void compute() {
+            if (to - from <= PARALLEL_THRESHOLD) {
+                mergeSort(array, from, to, comparator);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new ParallelMergeSort<>(array, buffer, from, mid,
+                            comparator),
+                    new ParallelMergeSort<>(array, buffer, mid, to,
+                            comparator));
+            merge(array, buffer, from, from, mid, to, comparator);
+        }
+    }
+
     /**
      * Private constructor to prevent instantiation of Sort class.
      */
     private Sort() {}
 }
-
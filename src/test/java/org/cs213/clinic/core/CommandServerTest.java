@@ -0,0 +1,219 @@
+package org.cs213.clinic.core;
+
+import org.cs213.clinic.cli.commands.Command;
+import org.cs213.clinic.cli.registry.CommandRegistry;
+import org.cs213.clinic.cli.registry.CommandRegistryEntry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.ConnectException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests serving commands over a local connection with a
+ * {@link CommandServer}: how responses are framed and pipelined, quitting
+ * and closing.
+ *
+ * @author Elian Deogracia-Brito
+ * @author Tiara Clyde
+ */
+class CommandServerTest {
+    /**
+     * Milliseconds a test waits for a response before it fails.
+     */
+    private static final int READ_TIMEOUT_MILLIS = 5000;
+
+    /**
+     * The error thrown by the command that always fails.
+     */
+    private static final IllegalStateException FAILURE =
+            new IllegalStateException("boom");
+
+    /**
+     * The server under test.
+     */
+    private CommandServer server;
+
+    /**
+     * The thread accepting connections for the server.
+     */
+    private Thread acceptor;
+
+    /**
+     * Starts a server on a free port of the loopback address, with a command
+     * "E" that prints each of its arguments on a line of its own and a
+     * command "F" that always fails.
+     *
+     * @throws IOException if the server can't be started
+     */
+    @BeforeEach
+    void setUp() throws IOException {
+        CommandRegistry registry = new CommandRegistry(
+                new CommandRegistryEntry[] {
+                        new CommandRegistryEntry("E", new Command() {
+                            @Override
+                            public String execute(String[] args) {
+                                return String.join("\n", args) + "\n";
+                            }
+                        }),
+                        new CommandRegistryEntry("F", new Command() {
+                            @Override
+                            public String execute(String[] args) {
+                                throw FAILURE;
+                            }
+                        })
+                });
+        server = CommandServer.local(registry, 0);
+        acceptor = new Thread(server);
+        acceptor.start();
+    }
+
+    /**
+     * Closes the server and waits for it to stop accepting.
+     *
+     * @throws Exception if the server can't be closed
+     */
+    @AfterEach
+    void tearDown() throws Exception {
+        server.close();
+        acceptor.join(READ_TIMEOUT_MILLIS);
+    }
+
+    /**
+     * Connects to the server.
+     *
+     * @return the connection
+     * @throws IOException if the server can't be reached
+     */
+    private Socket connect() throws IOException {
+        Socket socket = new Socket(InetAddress.getLoopbackAddress(),
+                server.getPort());
+        socket.setSoTimeout(READ_TIMEOUT_MILLIS);
+        return socket;
+    }
+
+    /**
+     * Sends lines to the server in one write.
+     *
+     * @param socket the connection
+     * @param lines  the lines to send
+     * @throws IOException if the connection can't be written
+     */
+    private static void send(Socket socket, String... lines)
+            throws IOException {
+        Writer out = new OutputStreamWriter(socket.getOutputStream(),
+                StandardCharsets.UTF_8);
+        for (String line : lines) {
+            out.write(line);
+            out.write('\n');
+        }
+        out.flush();
+    }
+
+    /**
+     * Creates a reader of the responses of a connection.
+     *
+     * @param socket the connection
+     * @return the reader
+     * @throws IOException if the connection can't be read
+     */
+    private static BufferedReader reader(Socket socket) throws IOException {
+        return new BufferedReader(new InputStreamReader(
+                socket.getInputStream(), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Reads lines and checks that they are the expected ones.
+     *
+     * @param in       the reader of the responses
+     * @param expected the lines expected, in order
+     * @throws IOException if the connection can't be read
+     */
+    private static void expect(BufferedReader in, String... expected)
+            throws IOException {
+        for (String line : expected) {
+            assertEquals(line, in.readLine());
+        }
+    }
+
+    @Test
+    void endsEveryResponseWithTheEndLine() throws IOException {
+        try (Socket socket = connect()) {
+            BufferedReader in = reader(socket);
+            send(socket, "E,hello,world");
+            expect(in, "hello", "world", CommandServer.END_OF_RESPONSE);
+            send(socket, "");
+            expect(in, CommandServer.END_OF_RESPONSE);
+        }
+    }
+
+    @Test
+    void putsAnotherDotInFrontOfOutputLinesStartingWithOne()
+            throws IOException {
+        try (Socket socket = connect()) {
+            BufferedReader in = reader(socket);
+            send(socket, "E,.,.hidden,plain,..");
+            expect(in, "..", "..hidden", "plain", "...",
+                    CommandServer.END_OF_RESPONSE);
+        }
+    }
+
+    @Test
+    void answersPipelinedCommandsInOrderPastAFailure() throws IOException {
+        try (Socket socket = connect()) {
+            BufferedReader in = reader(socket);
+            send(socket, "E,1", "F", "E,2", "", "E,3");
+            expect(in, "1", CommandServer.END_OF_RESPONSE);
+            expect(in, String.format(CommandServer.COMMAND_FAILED_FORMAT,
+                    "F", FAILURE).split("\n"));
+            expect(in, CommandServer.END_OF_RESPONSE);
+            expect(in, "2", CommandServer.END_OF_RESPONSE);
+            expect(in, CommandServer.END_OF_RESPONSE);
+            expect(in, "3", CommandServer.END_OF_RESPONSE);
+        }
+    }
+
+    @Test
+    void quitClosesTheConnection() throws IOException {
+        try (Socket socket = connect()) {
+            BufferedReader in = reader(socket);
+            send(socket, "E,before", "Q", "E,after");
+            expect(in, "before", CommandServer.END_OF_RESPONSE);
+            assertNull(in.readLine());
+        }
+    }
+
+    @Test
+    void closeDisconnectsClientsAndStopsAccepting() throws Exception {
+        try (Socket socket = connect()) {
+            BufferedReader in = reader(socket);
+            send(socket, "E,served");
+            expect(in, "served", CommandServer.END_OF_RESPONSE);
+
+            server.close();
+            acceptor.join(READ_TIMEOUT_MILLIS);
+            assertFalse(acceptor.isAlive());
+
+            try {
+                assertNull(in.readLine());
+            } catch (SocketException e) {
+                // The connection was reset, which also ends it
+            }
+        }
+        assertThrows(ConnectException.class, this::connect);
+    }
+}
@@ -0,0 +1,154 @@
+package org.cs213.clinic.core;
+
+import org.cs213.clinic.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.cs213.clinic.util.ContainerConstants.INDEX_NOT_FOUND;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests booking a set of appointments all together or not at all with
+ * {@link Database#bookAll(List)}.
+ *
+ * @author Elian Deogracia-Brito
+ * @author Tiara Clyde
+ */
+class DatabaseTest {
+    /**
+     * A date the appointments are booked on.
+     */
+    private static final Date DATE = new Date(2026, 11, 16);
+
+    /**
+     * The database the appointments are booked in.
+     */
+    private Database database;
+
+    /**
+     * A doctor.
+     */
+    private Doctor patel;
+
+    /**
+     * Another doctor, at the same location.
+     */
+    private Doctor lim;
+
+    /**
+     * A patient.
+     */
+    private Patient john;
+
+    /**
+     * Another patient.
+     */
+    private Patient jane;
+
+    /**
+     * Creates a concurrent database with two doctors, so every booking also
+     * goes through the database lock.
+     */
+    @BeforeEach
+    void setUp() {
+        database = new ConcurrentDatabase(ClinicManager.createTimeslotTable());
+        patel = new Doctor("Andrew", "Patel", "1/21/1989", "Bridgewater",
+                "Family", "01");
+        lim = new Doctor("Rachael", "Lim", "11/30/1975", "Bridgewater",
+                "Pediatrician", "23");
+        database.addProvider(patel);
+        database.addProvider(lim);
+        john = new Patient("John", "Doe", "12/13/1989");
+        jane = new Patient("Jane", "Doe", "5/1/1996");
+    }
+
+    /**
+     * Creates an office appointment on {@link #DATE}.
+     *
+     * @param slot     the id of the timeslot
+     * @param patient  the patient
+     * @param provider the doctor
+     * @return the appointment
+     */
+    private Appointment appointment(int slot, Patient patient,
+                                    Doctor provider) {
+        return new Appointment(DATE, database.getTimeslot(slot), patient,
+                provider);
+    }
+
+    /**
+     * Creates a batch of appointments.
+     *
+     * @param appointments the appointments
+     * @return the batch
+     */
+    private static List<Appointment> batch(Appointment... appointments) {
+        List<Appointment> batch = new List<>();
+        for (Appointment appointment : appointments) {
+            batch.add(appointment);
+        }
+        return batch;
+    }
+
+    @Test
+    void booksEveryAppointmentWhenNoneConflict() {
+        Appointment first = appointment(1, john, patel);
+        Appointment second = appointment(2, john, patel);
+        Appointment third = appointment(1, jane, lim);
+
+        assertEquals(INDEX_NOT_FOUND,
+                database.bookAll(batch(first, second, third)));
+
+        assertEquals(3, database.getAppointmentCount());
+        assertNotNull(database.getAppointment(DATE, first.getTimeslot(),
+                john));
+        assertNotNull(database.getAppointment(DATE, second.getTimeslot(),
+                john));
+        assertNotNull(database.getAppointment(DATE, third.getTimeslot(),
+                jane));
+    }
+
+    @Test
+    void booksNothingWhenOneConflictsWithABookedAppointment() {
+        database.addAppointment(appointment(2, jane, patel));
+
+        Appointment free = appointment(1, john, patel);
+        Appointment taken = appointment(2, john, patel);
+
+        assertEquals(1, database.bookAll(batch(free, taken)));
+
+        assertEquals(1, database.getAppointmentCount());
+        assertNull(database.getAppointment(DATE, free.getTimeslot(), john));
+    }
+
+    @Test
+    void booksNothingWhenTwoInTheBatchConflict() {
+        Appointment first = appointment(3, john, patel);
+        Appointment free = appointment(4, jane, lim);
+        Appointment sameDoctor = appointment(3, jane, patel);
+
+        assertEquals(2, database.bookAll(batch(first, free, sameDoctor)));
+        assertEquals(0, database.getAppointmentCount());
+
+        Appointment samePatient = appointment(3, john, lim);
+        assertEquals(1, database.bookAll(batch(first, samePatient)));
+        assertEquals(0, database.getAppointmentCount());
+    }
+
+    @Test
+    void booksNothingWhenOneIsAtAnUnknownTimeslot() {
+        Appointment valid = appointment(1, john, patel);
+        Appointment early = new Appointment(DATE, new Timeslot(8, 0), jane,
+                lim);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> database.bookAll(batch(valid, early)));
+
+        assertEquals(0, database.getAppointmentCount());
+        assertNull(database.getAppointment(DATE, valid.getTimeslot(), john));
+        assertEquals(INDEX_NOT_FOUND, database.bookAll(batch(valid)));
+    }
+}
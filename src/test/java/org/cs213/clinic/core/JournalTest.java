@@ -0,0 +1,237 @@
+package org.cs213.clinic.core;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.cs213.clinic.cli.commands.Command.EMPTY_OUTSTR;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests recovering a database from its {@link Journal}: records torn or left
+ * uncommitted by a crash, and the switch to a snapshot and a new journal
+ * generation.
+ *
+ * @author Elian Deogracia-Brito
+ * @author Tiara Clyde
+ */
+class JournalTest {
+    /**
+     * A date the appointments are booked on.
+     */
+    private static final Date DATE = new Date(2026, 11, 16);
+
+    /**
+     * Size of a commit record in the journal file: its length, its type and
+     * its checksum.
+     */
+    private static final int COMMIT_RECORD_BYTES = 4 + 1 + 4;
+
+    /**
+     * The directory of the journal and snapshot files.
+     */
+    @TempDir
+    Path directory;
+
+    /**
+     * Creates a database holding the same two doctors every time, as if the
+     * providers file was loaded.
+     *
+     * @return the database
+     */
+    private static Database createDatabase() {
+        Database database = new Database(ClinicManager.createTimeslotTable());
+        database.addProvider(new Doctor("Andrew", "Patel", "1/21/1989",
+                "Bridgewater", "Family", "01"));
+        database.addProvider(new Doctor("Rachael", "Lim", "11/30/1975",
+                "Bridgewater", "Pediatrician", "23"));
+        return database;
+    }
+
+    /**
+     * Books an office appointment on {@link #DATE} with the first doctor as
+     * one command, adding the patient to the medical record if needed.
+     *
+     * @param database the database
+     * @param fname    the first name of the patient
+     * @param slot     the id of the timeslot
+     */
+    private static void book(Database database, String fname, int slot) {
+        database.write(() -> {
+            Profile profile = new Profile(fname, "Doe", "12/13/1989");
+            Patient patient = database.getPatient(profile);
+            if (patient == null) {
+                patient = new Patient(profile);
+                database.addPatient(patient);
+            }
+            database.addAppointment(new Appointment(DATE,
+                    database.getTimeslot(slot), patient,
+                    database.getProvider(0)));
+            return EMPTY_OUTSTR;
+        });
+    }
+
+    /**
+     * Checks if a patient has an appointment on {@link #DATE}.
+     *
+     * @param database the database
+     * @param fname    the first name of the patient
+     * @param slot     the id of the timeslot
+     * @return true if the appointment is booked
+     */
+    private static boolean isBooked(Database database, String fname,
+                                    int slot) {
+        return database.getAppointment(DATE, database.getTimeslot(slot),
+                new Person(new Profile(fname, "Doe", "12/13/1989"))) != null;
+    }
+
+    @Test
+    void truncatesATornRecordAtTheEnd() throws IOException {
+        Database database = createDatabase();
+        Journal journal = Journal.open(directory, database);
+        book(database, "John", 1);
+        journal.close();
+
+        Path file = directory.resolve("journal-0.bin");
+        long intact = Files.size(file);
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.APPEND)) {
+            ByteBuffer torn = ByteBuffer.allocate(4 + 3);
+            torn.putInt(64).put((byte) 2).put((byte) 0).put((byte) 4).flip();
+            channel.write(torn);
+        }
+
+        Database recovered = createDatabase();
+        journal = Journal.open(directory, recovered);
+        assertEquals(intact, Files.size(file));
+        assertTrue(isBooked(recovered, "John", 1));
+
+        book(recovered, "Jane", 2);
+        journal.close();
+        Database again = createDatabase();
+        Journal.open(directory, again).close();
+        assertTrue(isBooked(again, "John", 1));
+        assertTrue(isBooked(again, "Jane", 2));
+    }
+
+    @Test
+    void dropsTheRecordsOfAnUncommittedCommand() throws IOException {
+        Database database = createDatabase();
+        Journal journal = Journal.open(directory, database);
+        Path file = directory.resolve("journal-0.bin");
+        book(database, "John", 1);
+        long committed = Files.size(file);
+        book(database, "Jane", 2);
+        journal.close();
+
+        // Cut the commit record of the second command, as a crash would
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - COMMIT_RECORD_BYTES);
+        }
+
+        Database recovered = createDatabase();
+        Journal.open(directory, recovered).close();
+        assertTrue(isBooked(recovered, "John", 1));
+        assertFalse(isBooked(recovered, "Jane", 2));
+        assertNull(recovered.getPatient(
+                new Profile("Jane", "Doe", "12/13/1989")));
+        assertEquals(committed, Files.size(file));
+    }
+
+    @Test
+    void rollsBackTheRecordsOfACommandThatFails() throws IOException {
+        Database database = createDatabase();
+        Journal journal = Journal.open(directory, database);
+        book(database, "John", 1);
+
+        // Enough records that some are written to the file mid-command
+        assertThrows(IllegalStateException.class, () -> database.write(() -> {
+            for (int i = 0; i < 4096; i++) {
+                database.addPatient(new Patient(
+                        new Profile("Patient" + i, "Doe", "12/13/1989")));
+            }
+            throw new IllegalStateException();
+        }));
+        book(database, "Jane", 2);
+        journal.close();
+
+        Database recovered = createDatabase();
+        Journal.open(directory, recovered).close();
+        assertTrue(isBooked(recovered, "John", 1));
+        assertTrue(isBooked(recovered, "Jane", 2));
+        assertEquals(2, recovered.getPatients().size());
+    }
+
+    @Test
+    void switchesToTheNextGenerationAfterASnapshot() throws IOException {
+        Database database = createDatabase();
+        // Each booking of a new patient records the patient, the
+        // appointment and the commit
+        Journal journal = Journal.open(directory, database,
+                Journal.DEFAULT_SYNC_EVERY, 6);
+        book(database, "John", 1);
+        assertFalse(Files.exists(directory.resolve("snapshot.bin")));
+        book(database, "Jane", 2);
+
+        assertTrue(Files.exists(directory.resolve("snapshot.bin")));
+        assertFalse(Files.exists(directory.resolve("journal-0.bin")));
+        assertTrue(Files.exists(directory.resolve("journal-1.bin")));
+
+        book(database, "Jack", 3);
+        journal.close();
+
+        Database recovered = createDatabase();
+        Journal.open(directory, recovered).close();
+        assertTrue(isBooked(recovered, "John", 1));
+        assertTrue(isBooked(recovered, "Jane", 2));
+        assertTrue(isBooked(recovered, "Jack", 3));
+        assertEquals(3, recovered.getAppointmentCount());
+    }
+
+    @Test
+    void restoresArchivedVisitsFromASnapshot(@TempDir Path archiveDirectory)
+            throws IOException {
+        Database database = createDatabase();
+        VisitArchive archive = VisitArchive.open(archiveDirectory);
+        database.setArchive(archive);
+        Journal journal = Journal.open(directory, database);
+        book(database, "John", 1);
+        book(database, "Jane", 2);
+        book(database, "John", 3);
+        database.write(() -> {
+            database.billActiveAppointments();
+            return EMPTY_OUTSTR;
+        });
+        Patient john = database.getPatient(
+                new Profile("John", "Doe", "12/13/1989"));
+        int charge = database.getCharge(john);
+        journal.snapshot();
+        journal.close();
+        archive.close();
+
+        Database recovered = createDatabase();
+        try (VisitArchive restored = VisitArchive.open(archiveDirectory)) {
+            recovered.setArchive(restored);
+            Journal.open(directory, recovered).close();
+
+            assertEquals(3, restored.size());
+            assertEquals(0, recovered.getAppointmentCount());
+            Patient patient = recovered.getPatient(
+                    new Profile("John", "Doe", "12/13/1989"));
+            assertNotNull(patient);
+            assertEquals(charge, recovered.getCharge(patient));
+        }
+    }
+}